@@ -31,6 +31,7 @@ public class CorsConfig {
         config.setExposedHeaders(Arrays.asList(
             "Authorization",
             "Content-Type",
+            "ETag",
             "X-Requested-With",
             "Accept",
             "Origin",
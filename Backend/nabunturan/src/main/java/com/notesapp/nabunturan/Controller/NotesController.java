@@ -1,22 +1,41 @@
 package com.notesapp.nabunturan.Controller;
 
+import com.notesapp.nabunturan.DTO.BatchGetNotesRequest;
+import com.notesapp.nabunturan.DTO.BulkNoteOperation;
+import com.notesapp.nabunturan.DTO.BulkNoteRequest;
+import com.notesapp.nabunturan.DTO.BulkNoteResponse;
 import com.notesapp.nabunturan.DTO.CreateNoteWithTxRequest;
 import com.notesapp.nabunturan.DTO.DeleteNoteWithTxRequest;
+import com.notesapp.nabunturan.DTO.NoteChangesResponse;
+import com.notesapp.nabunturan.DTO.NoteRevisionResponse;
+import com.notesapp.nabunturan.DTO.NoteSuggestionResponse;
 import com.notesapp.nabunturan.DTO.NoteWithStatusResponse;
 import com.notesapp.nabunturan.DTO.UpdateNoteWithTxRequest;
 import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Service.BulkNoteService;
+import com.notesapp.nabunturan.Service.NoteEventService;
 import com.notesapp.nabunturan.Service.NotesService;
+import com.notesapp.nabunturan.Service.OptimisticRetry;
+import com.notesapp.nabunturan.Service.ResponseCacheService;
+import com.notesapp.nabunturan.Service.ResponseCacheService.CachedResponse;
+import com.notesapp.nabunturan.Validator.TransactionHashValidator;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notes")
@@ -25,9 +44,19 @@ import java.util.List;
 public class NotesController {
 
     private final NotesService notesService;
+    private final BulkNoteService bulkNoteService;
+    private final NoteEventService noteEventService;
+    private final ResponseCacheService responseCacheService;
+    private final OptimisticRetry optimisticRetry;
 
-    public NotesController(NotesService notesService) {
+    public NotesController(NotesService notesService, BulkNoteService bulkNoteService,
+                           NoteEventService noteEventService, ResponseCacheService responseCacheService,
+                           OptimisticRetry optimisticRetry) {
         this.notesService = notesService;
+        this.bulkNoteService = bulkNoteService;
+        this.noteEventService = noteEventService;
+        this.responseCacheService = responseCacheService;
+        this.optimisticRetry = optimisticRetry;
     }
 
     /**
@@ -37,6 +66,7 @@ public class NotesController {
      */
     @PostMapping
     public ResponseEntity<NoteWithStatusResponse> createNote(@Valid @RequestBody CreateNoteWithTxRequest request) {
+        request.setTxHash(TransactionHashValidator.normalize(request.getTxHash()));
         Note createdNote = notesService.createNote(request);
         NoteWithStatusResponse response = NoteWithStatusResponse.fromEntity(createdNote);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
@@ -54,7 +84,8 @@ public class NotesController {
             @Valid @RequestBody UpdateNoteWithTxRequest request) {
         // Set the note ID from path variable
         request.setNoteId(id);
-        Note updatedNote = notesService.updateNote(request);
+        request.setTxHash(TransactionHashValidator.normalize(request.getTxHash()));
+        Note updatedNote = optimisticRetry.run("note.update", () -> notesService.updateNote(request));
         NoteWithStatusResponse response = NoteWithStatusResponse.fromEntity(updatedNote);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -71,10 +102,25 @@ public class NotesController {
             @Valid @RequestBody DeleteNoteWithTxRequest request) {
         // Set the note ID from path variable
         request.setNoteId(id);
-        notesService.deleteNote(request);
+        request.setTxHash(TransactionHashValidator.normalize(request.getTxHash()));
+        optimisticRetry.run("note.delete", () -> notesService.deleteNote(request));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    /**
+     * POST /api/notes/bulk - Create, update and delete several notes in one call
+     * @param request BulkNoteRequest with the operations, each carrying its own transaction
+     * @return BulkNoteResponse with one result per operation (200 OK, even if some failed)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkNoteResponse> bulkMutateNotes(@Valid @RequestBody BulkNoteRequest request) {
+        for (BulkNoteOperation operation : request.getOperations()) {
+            operation.setTxHash(TransactionHashValidator.normalize(operation.getTxHash()));
+        }
+        BulkNoteResponse response = bulkNoteService.apply(request.getOperations());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * GET /api/notes - Get all notes with optional filters
      * @param walletAddress Optional wallet address filter
@@ -82,22 +128,33 @@ public class NotesController {
      * @return List<NoteWithStatusResponse>
      */
     @GetMapping
-    public ResponseEntity<List<NoteWithStatusResponse>> getAllNotes(
+    public ResponseEntity<byte[]> getAllNotes(
             @RequestParam(required = false) String walletAddress,
             @RequestParam(required = false) 
             @Pattern(regexp = "^(PENDING|SUBMITTED|PROCESSING|CONFIRMED|FAILED)$", 
                      message = "Status must be one of: PENDING, SUBMITTED, PROCESSING, CONFIRMED, FAILED") 
-            String status) {
-        List<Note> notes;
-        
-        if (status != null && !status.isEmpty()) {
-            notes = notesService.getNotesByStatus(status, walletAddress);
-        } else {
-            notes = notesService.getAllNotes(walletAddress);
+            String status,
+            WebRequest webRequest) {
+        // Answer unchanged polls from the version probe alone, before any rows are loaded
+        String versionTag = notesService.getNotesVersionTag(walletAddress);
+        String filter = status != null && !status.isEmpty() ? status : "ALL";
+        String etag = "notes-" + versionTag + "-" + filter;
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        
-        List<NoteWithStatusResponse> responses = NoteWithStatusResponse.fromEntities(notes);
-        return new ResponseEntity<>(responses, HttpStatus.OK);
+
+        CachedResponse cached = responseCacheService.getOrLoad("notes", walletAddress, filter, versionTag, () -> {
+            List<Note> notes;
+            
+            if (status != null && !status.isEmpty()) {
+                notes = notesService.getNotesByStatus(status, walletAddress);
+            } else {
+                notes = notesService.getAllNotes(walletAddress);
+            }
+            
+            return NoteWithStatusResponse.fromEntities(notes);
+        });
+        return responseCacheService.toResponseEntity(cached, etag, webRequest);
     }
 
     /**
@@ -112,17 +169,63 @@ public class NotesController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * GET /api/notes/{id}/revisions - List a note's revisions, newest first
+     * @param id Note ID
+     * @return List<NoteRevisionResponse> with the content change of each revision
+     */
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<List<NoteRevisionResponse>> getNoteRevisions(@PathVariable Long id) {
+        List<NoteRevisionResponse> revisions = notesService.getRevisions(id);
+        return new ResponseEntity<>(revisions, HttpStatus.OK);
+    }
+
+    /**
+     * GET /api/notes/{id}/revisions/{revision} - Get a note as it was at one revision
+     * @param id Note ID
+     * @param revision Revision number
+     * @return NoteRevisionResponse with the full content
+     */
+    @GetMapping("/{id}/revisions/{revision}")
+    public ResponseEntity<NoteRevisionResponse> getNoteRevision(@PathVariable Long id,
+                                                                @PathVariable @Min(1) Integer revision) {
+        NoteRevisionResponse response = notesService.getRevision(id, revision);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * POST /api/notes/batch-get - Get several notes with their status in one round trip
+     * @param request BatchGetNotesRequest with the note IDs
+     * @return Map of note ID to NoteWithStatusResponse; unknown IDs are omitted
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<Map<Long, NoteWithStatusResponse>> batchGetNotes(
+            @Valid @RequestBody BatchGetNotesRequest request) {
+        Map<Long, NoteWithStatusResponse> responses = new LinkedHashMap<>();
+        notesService.getNotesByIds(request.getIds())
+            .forEach((id, note) -> responses.put(id, NoteWithStatusResponse.fromEntity(note)));
+        return new ResponseEntity<>(responses, HttpStatus.OK);
+    }
+
     /**
      * GET /api/notes/pending - Get all pending notes
      * @param walletAddress Optional wallet address filter
      * @return List<NoteWithStatusResponse>
      */
     @GetMapping("/pending")
-    public ResponseEntity<List<NoteWithStatusResponse>> getPendingNotes(
-            @RequestParam(required = false) String walletAddress) {
-        List<Note> notes = notesService.getNotesByStatus("PENDING", walletAddress);
-        List<NoteWithStatusResponse> responses = NoteWithStatusResponse.fromEntities(notes);
-        return new ResponseEntity<>(responses, HttpStatus.OK);
+    public ResponseEntity<byte[]> getPendingNotes(
+            @RequestParam(required = false) String walletAddress,
+            WebRequest webRequest) {
+        String versionTag = notesService.getNotesVersionTag(walletAddress);
+        String etag = "notes-" + versionTag + "-PENDING";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // Shares cache entries with GET /api/notes?status=PENDING
+        CachedResponse cached = responseCacheService.getOrLoad("notes", walletAddress, "PENDING", versionTag,
+            () -> NoteWithStatusResponse.fromEntities(notesService.getNotesByStatus("PENDING", walletAddress)));
+        return responseCacheService.toResponseEntity(cached, etag, webRequest);
     }
 
     // Additional endpoints for backward compatibility and extra features
@@ -140,6 +243,57 @@ public class NotesController {
         return new ResponseEntity<>(responses, HttpStatus.OK);
     }
 
+    /**
+     * GET /api/notes/changes - Delta sync of notes changed since a version cursor
+     * @param walletAddress Wallet address to sync
+     * @param since Cursor returned by the previous call (default: 0 for a full load)
+     * @return NoteChangesResponse with changed notes, deleted IDs and the new cursor
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<NoteChangesResponse> getNoteChanges(
+            @RequestParam @NotBlank(message = "Wallet address is required") String walletAddress,
+            @RequestParam(defaultValue = "0") @Min(0) long since) {
+        NoteChangesResponse response = notesService.getChangesSince(walletAddress, since);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * GET /api/notes/events - Server-Sent Events stream of status transitions for a wallet
+     * @param walletAddress Wallet address to subscribe to
+     * @param lastEventId Last-Event-ID header sent by the browser when reconnecting (optional)
+     * @return SseEmitter streaming "status" events, or a "resync" event if the gap cannot be replayed
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNoteEvents(
+            @RequestParam @NotBlank(message = "Wallet address is required") String walletAddress,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isEmpty()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // Unknown cursor format; treat as a fresh subscription
+            }
+        }
+        return noteEventService.subscribe(walletAddress, resumeFrom);
+    }
+
+    /**
+     * GET /api/notes/suggest - Title autocomplete served from the in-memory index
+     * @param walletAddress Wallet address owning the notes
+     * @param q Prefix typed by the user
+     * @param limit Optional maximum number of suggestions
+     * @return List<NoteSuggestionResponse>
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<NoteSuggestionResponse>> suggestNotes(
+            @RequestParam @NotBlank(message = "Wallet address is required") String walletAddress,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer limit) {
+        List<NoteSuggestionResponse> suggestions = notesService.suggestNotes(walletAddress, q, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+
     /**
      * GET /api/notes/{id}/status - Get note status and transaction details
      * @param id Note ID
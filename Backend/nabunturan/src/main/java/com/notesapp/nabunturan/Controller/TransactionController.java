@@ -1,25 +1,31 @@
 package com.notesapp.nabunturan.Controller;
 
+import com.notesapp.nabunturan.DTO.BatchTransactionStatusRequest;
 import com.notesapp.nabunturan.DTO.TransactionHistoryResponse;
 import com.notesapp.nabunturan.DTO.TransactionStatusResponse;
 import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+import com.notesapp.nabunturan.Service.OptimisticRetry;
+import com.notesapp.nabunturan.Service.ResponseCacheService;
+import com.notesapp.nabunturan.Service.ResponseCacheService.CachedResponse;
 import com.notesapp.nabunturan.Service.TransactionService;
+import com.notesapp.nabunturan.Validator.TransactionHashValidator;
 import com.notesapp.nabunturan.Validator.ValidCardanoAddress;
 import com.notesapp.nabunturan.Validator.ValidTransactionHash;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Pattern;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,24 +36,45 @@ import java.util.Map;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ResponseCacheService responseCacheService;
+    private final OptimisticRetry optimisticRetry;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, ResponseCacheService responseCacheService,
+                                 OptimisticRetry optimisticRetry) {
         this.transactionService = transactionService;
+        this.responseCacheService = responseCacheService;
+        this.optimisticRetry = optimisticRetry;
     }
 
     /**
-     * GET /api/transactions/{txHash} - Get transaction details by hash
+     * GET /api/transactions/{txHash} - Get transaction details by hash, including its metadata
      * @param txHash Transaction hash
      * @return TransactionStatusResponse
      */
     @GetMapping("/{txHash}")
     public ResponseEntity<TransactionStatusResponse> getTransactionByHash(
             @PathVariable @ValidTransactionHash String txHash) {
-        Transaction transaction = transactionService.getTransactionByTxHash(txHash);
+        Transaction transaction = transactionService.getTransactionByTxHash(TransactionHashValidator.normalize(txHash));
         TransactionStatusResponse response = TransactionStatusResponse.fromEntity(transaction);
+        response.setMetadataJson(transaction.getMetadataJson());
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * POST /api/transactions/status - Get the status of several transactions in one round trip
+     * @param request BatchTransactionStatusRequest with the transaction hashes
+     * @return Map of lowercase tx hash to TransactionStatusResponse; unknown hashes are omitted
+     */
+    @PostMapping("/status")
+    public ResponseEntity<Map<String, TransactionStatusResponse>> getTransactionStatuses(
+            @Valid @RequestBody BatchTransactionStatusRequest request) {
+        Map<String, TransactionStatusResponse> responses = new LinkedHashMap<>();
+        List<String> txHashes = request.getTxHashes().stream().map(TransactionHashValidator::normalize).toList();
+        transactionService.getTransactionsByTxHashes(txHashes)
+            .forEach((txHash, transaction) -> responses.put(txHash, TransactionStatusResponse.fromEntity(transaction)));
+        return new ResponseEntity<>(responses, HttpStatus.OK);
+    }
+
     /**
      * GET /api/transactions/note/{noteId} - Get all transactions for a note
      * @param noteId Note ID
@@ -61,23 +88,44 @@ public class TransactionController {
     }
 
     /**
-     * GET /api/transactions/wallet/{walletAddress} - Get paginated transactions for a wallet
+     * GET /api/transactions/wallet/{walletAddress} - Get keyset-paginated transactions for a wallet
      * @param walletAddress Wallet address
-     * @param page Page number (default: 0)
+     * @param cursor Cursor from the previous page's nextCursor (optional, absent for the first page)
      * @param size Page size (default: 20)
-     * @return Page<TransactionHistoryResponse>
+     * @param status Optional status filter
+     * @param operation Optional operation type filter (CREATE, UPDATE, DELETE)
+     * @param includeTotal Also count all matching transactions (default: false)
+     * @return TransactionPageResponse as cached JSON bytes
      */
     @GetMapping("/wallet/{walletAddress}")
-    public ResponseEntity<Page<TransactionHistoryResponse>> getTransactionsByWallet(
+    public ResponseEntity<byte[]> getTransactionsByWallet(
             @PathVariable @ValidCardanoAddress String walletAddress,
-            @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+            @RequestParam(required = false)
+            @Pattern(regexp = "^[A-Za-z0-9_-]{1,200}$", message = "Invalid cursor")
+            String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(required = false)
+            @Pattern(regexp = "^(PENDING|SUBMITTED|PROCESSING|CONFIRMED|FAILED)$",
+                     message = "Status must be one of: PENDING, SUBMITTED, PROCESSING, CONFIRMED, FAILED")
+            String status,
+            @RequestParam(required = false)
+            @Pattern(regexp = "^(CREATE|UPDATE|DELETE)$", message = "Operation must be one of: CREATE, UPDATE, DELETE")
+            String operation,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest webRequest) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactionPage = transactionService.getTransactionsByWalletAddress(walletAddress, pageable);
-        Page<TransactionHistoryResponse> responsePage = transactionPage.map(TransactionHistoryResponse::fromEntity);
+        // Answer unchanged polls from the wallet version alone, before the page query runs
+        String versionTag = transactionService.getWalletVersionTag(walletAddress);
+        String filter = size + "-" + status + "-" + operation + "-" + includeTotal + "-" + cursor;
+        String etag = "txs-" + versionTag + "-" + filter;
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         
-        return new ResponseEntity<>(responsePage, HttpStatus.OK);
+        CachedResponse cached = responseCacheService.getOrLoad("transactions", walletAddress, filter, versionTag,
+            () -> transactionService.getTransactionPage(walletAddress,
+                status != null ? TransactionStatus.valueOf(status) : null, operation, cursor, size, includeTotal));
+        return responseCacheService.toResponseEntity(cached, etag, webRequest);
     }
 
     /**
@@ -88,13 +136,15 @@ public class TransactionController {
     @PostMapping("/{txHash}/retry")
     public ResponseEntity<TransactionStatusResponse> retryTransaction(
             @PathVariable @ValidTransactionHash String txHash) {
-        Transaction transaction = transactionService.retryTransaction(txHash);
+        // A retry that loses a race is re-read, and then rejected if the other writer already moved it off FAILED
+        Transaction transaction = optimisticRetry.run("transaction.retry",
+            () -> transactionService.retryTransaction(TransactionHashValidator.normalize(txHash)));
         TransactionStatusResponse response = TransactionStatusResponse.fromEntity(transaction);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
     /**
-     * GET /api/transactions/pending/count - Get count of pending transactions
+     * GET /api/transactions/pending/count - Get count of pending (PENDING, SUBMITTED, PROCESSING) transactions
      * @param walletAddress Optional wallet address filter
      * @return {"count": number}
      */
@@ -102,16 +152,8 @@ public class TransactionController {
     public ResponseEntity<Map<String, Long>> getPendingTransactionsCount(
             @RequestParam(required = false) String walletAddress) {
         
-        List<Transaction> pendingTransactions;
-        
-        if (walletAddress != null && !walletAddress.isEmpty()) {
-            pendingTransactions = transactionService.getTransactionsByStatusAndWalletAddress("PENDING", walletAddress);
-        } else {
-            pendingTransactions = transactionService.getTransactionsByStatus("PENDING");
-        }
-        
         Map<String, Long> response = new HashMap<>();
-        response.put("count", (long) pendingTransactions.size());
+        response.put("count", transactionService.countPendingTransactions(walletAddress));
         
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -125,30 +167,7 @@ public class TransactionController {
     public ResponseEntity<Map<String, Long>> getTransactionStats(
             @RequestParam(required = false) String walletAddress) {
         
-        List<Transaction> allTransactions;
-        
-        if (walletAddress != null && !walletAddress.isEmpty()) {
-            allTransactions = transactionService.getTransactionsByWalletAddress(walletAddress);
-        } else {
-            allTransactions = transactionService.getAllTransactions();
-        }
-        
-        long total = allTransactions.size();
-        long pending = allTransactions.stream()
-                .filter(tx -> "PENDING".equalsIgnoreCase(tx.getStatus()))
-                .count();
-        long confirmed = allTransactions.stream()
-                .filter(tx -> "CONFIRMED".equalsIgnoreCase(tx.getStatus()))
-                .count();
-        long failed = allTransactions.stream()
-                .filter(tx -> "FAILED".equalsIgnoreCase(tx.getStatus()))
-                .count();
-        
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("total", total);
-        stats.put("pending", pending);
-        stats.put("confirmed", confirmed);
-        stats.put("failed", failed);
+        Map<String, Long> stats = transactionService.getTransactionStats(walletAddress);
         
         return new ResponseEntity<>(stats, HttpStatus.OK);
     }
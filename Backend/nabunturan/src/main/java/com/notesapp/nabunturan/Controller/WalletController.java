@@ -0,0 +1,51 @@
+package com.notesapp.nabunturan.Controller;
+
+import com.notesapp.nabunturan.Service.NoteChangeService;
+import com.notesapp.nabunturan.Service.ResponseCacheService;
+import com.notesapp.nabunturan.Service.ResponseCacheService.CachedResponse;
+import com.notesapp.nabunturan.Service.WalletDashboardService;
+import com.notesapp.nabunturan.Validator.ValidCardanoAddress;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/wallets")
+@CrossOrigin(origins = "*")
+@Validated
+public class WalletController {
+
+    private final WalletDashboardService walletDashboardService;
+    private final NoteChangeService noteChangeService;
+    private final ResponseCacheService responseCacheService;
+
+    public WalletController(WalletDashboardService walletDashboardService, NoteChangeService noteChangeService,
+                            ResponseCacheService responseCacheService) {
+        this.walletDashboardService = walletDashboardService;
+        this.noteChangeService = noteChangeService;
+        this.responseCacheService = responseCacheService;
+    }
+
+    /**
+     * GET /api/wallets/{address}/dashboard - Notes, pending count, status breakdown and recent
+     * transactions for a wallet in one round trip
+     * @param address Wallet address
+     * @return WalletDashboardResponse as cached JSON bytes
+     */
+    @GetMapping("/{address}/dashboard")
+    public ResponseEntity<byte[]> getDashboard(
+            @PathVariable @ValidCardanoAddress String address,
+            WebRequest webRequest) {
+        String versionTag = noteChangeService.getVersionTag(address);
+        String etag = "dashboard-" + versionTag;
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        CachedResponse cached = responseCacheService.getOrLoad("dashboard", address, "", versionTag,
+            () -> walletDashboardService.getDashboard(address));
+        return responseCacheService.toResponseEntity(cached, etag, webRequest);
+    }
+}
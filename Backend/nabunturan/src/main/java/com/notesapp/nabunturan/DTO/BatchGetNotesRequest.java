@@ -0,0 +1,33 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for looking up several notes in one call
+ */
+public class BatchGetNotesRequest {
+
+    @NotEmpty(message = "At least one note ID is required")
+    @Size(max = 1000, message = "At most 1000 note IDs can be requested at once")
+    private List<@NotNull(message = "Note IDs cannot be null") Long> ids;
+
+    public BatchGetNotesRequest() {}
+
+    public BatchGetNotesRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,34 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.util.List;
+
+import com.notesapp.nabunturan.Validator.ValidTransactionHash;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for checking the status of several transactions in one call
+ */
+public class BatchTransactionStatusRequest {
+
+    @NotEmpty(message = "At least one transaction hash is required")
+    @Size(max = 1000, message = "At most 1000 transaction hashes can be requested at once")
+    private List<@ValidTransactionHash String> txHashes;
+
+    public BatchTransactionStatusRequest() {}
+
+    public BatchTransactionStatusRequest(List<String> txHashes) {
+        this.txHashes = txHashes;
+    }
+
+    // Getters and Setters
+
+    public List<String> getTxHashes() {
+        return txHashes;
+    }
+
+    public void setTxHashes(List<String> txHashes) {
+        this.txHashes = txHashes;
+    }
+}
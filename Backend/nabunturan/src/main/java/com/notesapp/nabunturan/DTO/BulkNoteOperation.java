@@ -0,0 +1,157 @@
+package com.notesapp.nabunturan.DTO;
+
+import com.notesapp.nabunturan.Validator.ValidCardanoAddress;
+import com.notesapp.nabunturan.Validator.ValidMetadataJson;
+import com.notesapp.nabunturan.Validator.ValidTransactionHash;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One operation of a bulk note request. CREATE uses the note fields, UPDATE uses noteId and
+ * the fields to change, DELETE uses noteId only; every operation carries its own transaction.
+ */
+public class BulkNoteOperation {
+
+    @NotNull(message = "Operation is required")
+    @Pattern(regexp = "^(CREATE|UPDATE|DELETE)$", message = "Operation must be one of: CREATE, UPDATE, DELETE")
+    private String operation;
+
+    private Long noteId;
+
+    @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
+    private String title;
+
+    @Size(max = 10000, message = "Content must not exceed 10000 characters")
+    private String content;
+
+    private Boolean isPinned;
+
+    @Size(max = 100, message = "Category must not exceed 100 characters")
+    private String category;
+
+    @NotNull(message = "Transaction hash is required")
+    @ValidTransactionHash
+    private String txHash;
+
+    @NotNull(message = "Wallet address is required")
+    @ValidCardanoAddress
+    private String walletAddress;
+
+    @Size(max = 5000, message = "Metadata JSON must not exceed 5000 characters")
+    @ValidMetadataJson
+    private String metadataJson;
+
+    public BulkNoteOperation() {}
+
+    /**
+     * Convert a CREATE operation to the single-note request
+     * @return CreateNoteWithTxRequest
+     */
+    public CreateNoteWithTxRequest toCreateRequest() {
+        CreateNoteWithTxRequest request = new CreateNoteWithTxRequest(title, content, txHash, walletAddress);
+        request.setPinned(isPinned != null && isPinned);
+        request.setCategory(category);
+        request.setMetadataJson(metadataJson);
+        return request;
+    }
+
+    /**
+     * Convert an UPDATE operation to the single-note request
+     * @return UpdateNoteWithTxRequest
+     */
+    public UpdateNoteWithTxRequest toUpdateRequest() {
+        UpdateNoteWithTxRequest request = new UpdateNoteWithTxRequest(noteId, txHash, walletAddress);
+        request.setTitle(title);
+        request.setContent(content);
+        request.setIsPinned(isPinned);
+        request.setCategory(category);
+        request.setMetadataJson(metadataJson);
+        return request;
+    }
+
+    /**
+     * Convert a DELETE operation to the single-note request
+     * @return DeleteNoteWithTxRequest
+     */
+    public DeleteNoteWithTxRequest toDeleteRequest() {
+        DeleteNoteWithTxRequest request = new DeleteNoteWithTxRequest(noteId, txHash, walletAddress);
+        request.setMetadataJson(metadataJson);
+        return request;
+    }
+
+    // Getters and Setters
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Boolean getIsPinned() {
+        return isPinned;
+    }
+
+    public void setIsPinned(Boolean isPinned) {
+        this.isPinned = isPinned;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getTxHash() {
+        return txHash;
+    }
+
+    public void setTxHash(String txHash) {
+        this.txHash = txHash;
+    }
+
+    public String getWalletAddress() {
+        return walletAddress;
+    }
+
+    public void setWalletAddress(String walletAddress) {
+        this.walletAddress = walletAddress;
+    }
+
+    public String getMetadataJson() {
+        return metadataJson;
+    }
+
+    public void setMetadataJson(String metadataJson) {
+        this.metadataJson = metadataJson;
+    }
+}
@@ -0,0 +1,34 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for applying several note creates, updates and deletes in one call
+ */
+public class BulkNoteRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 1000, message = "At most 1000 operations can be applied at once")
+    private List<@Valid @NotNull(message = "Operations cannot be null") BulkNoteOperation> operations;
+
+    public BulkNoteRequest() {}
+
+    public BulkNoteRequest(List<BulkNoteOperation> operations) {
+        this.operations = operations;
+    }
+
+    // Getters and Setters
+
+    public List<BulkNoteOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BulkNoteOperation> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,57 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk note request, with one result per operation in request order
+ */
+public class BulkNoteResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkNoteResult> results;
+
+    public BulkNoteResponse() {}
+
+    public BulkNoteResponse(List<BulkNoteResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(BulkNoteResult::isSuccess).count();
+        this.failed = total - succeeded;
+    }
+
+    // Getters and Setters
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkNoteResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkNoteResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,104 @@
+package com.notesapp.nabunturan.DTO;
+
+/**
+ * Outcome of one operation of a bulk note request
+ */
+public class BulkNoteResult {
+
+    private int index;
+    private String operation;
+    private Long noteId;
+    private String txHash;
+    private boolean success;
+    private String error;
+
+    public BulkNoteResult() {}
+
+    /**
+     * Create a successful result
+     * @param index Position of the operation in the request
+     * @param operation The operation (CREATE, UPDATE, DELETE)
+     * @param noteId The note created, updated or deleted
+     * @param txHash The operation's transaction hash
+     * @return BulkNoteResult
+     */
+    public static BulkNoteResult succeeded(int index, String operation, Long noteId, String txHash) {
+        BulkNoteResult result = new BulkNoteResult();
+        result.setIndex(index);
+        result.setOperation(operation);
+        result.setNoteId(noteId);
+        result.setTxHash(txHash);
+        result.setSuccess(true);
+        return result;
+    }
+
+    /**
+     * Create a failed result
+     * @param index Position of the operation in the request
+     * @param operation The operation (CREATE, UPDATE, DELETE)
+     * @param noteId The note the operation targeted (null for CREATE)
+     * @param txHash The operation's transaction hash
+     * @param error Why the operation was not applied
+     * @return BulkNoteResult
+     */
+    public static BulkNoteResult failed(int index, String operation, Long noteId, String txHash, String error) {
+        BulkNoteResult result = new BulkNoteResult();
+        result.setIndex(index);
+        result.setOperation(operation);
+        result.setNoteId(noteId);
+        result.setTxHash(txHash);
+        result.setSuccess(false);
+        result.setError(error);
+        return result;
+    }
+
+    // Getters and Setters
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public String getTxHash() {
+        return txHash;
+    }
+
+    public void setTxHash(String txHash) {
+        this.txHash = txHash;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
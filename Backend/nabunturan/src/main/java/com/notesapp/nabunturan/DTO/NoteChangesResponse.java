@@ -0,0 +1,48 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for delta sync: notes changed and deleted since a version cursor
+ */
+public class NoteChangesResponse {
+
+    private Long cursor;
+    private List<NoteWithStatusResponse> changed = new ArrayList<>();
+    private List<Long> deletedIds = new ArrayList<>();
+
+    public NoteChangesResponse() {}
+
+    public NoteChangesResponse(Long cursor, List<NoteWithStatusResponse> changed, List<Long> deletedIds) {
+        this.cursor = cursor;
+        this.changed = changed;
+        this.deletedIds = deletedIds;
+    }
+
+    // Getters and Setters
+
+    public Long getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(Long cursor) {
+        this.cursor = cursor;
+    }
+
+    public List<NoteWithStatusResponse> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<NoteWithStatusResponse> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+}
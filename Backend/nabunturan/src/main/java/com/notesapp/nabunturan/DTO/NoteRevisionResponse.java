@@ -0,0 +1,185 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.time.LocalDateTime;
+
+import com.notesapp.nabunturan.Entity.NoteRevision;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+
+/**
+ * Response DTO for one revision of a note. Listed revisions carry the content change against the
+ * previous revision; a materialized revision carries the full content instead.
+ */
+public class NoteRevisionResponse {
+
+    private Long noteId;
+    private Integer revision;
+    private String operationType;
+    private Long transactionId;
+    private String txHash;
+    private String transactionStatus;
+    private String title;
+    private String category;
+    private boolean isPinned;
+    private boolean snapshot;
+
+    // Content change: replace removedLength characters at changeOffset with insertedText (unset for snapshots)
+    private Integer changeOffset;
+    private Integer removedLength;
+    private String insertedText;
+
+    // Full content, only set when a single revision is materialized
+    private String content;
+
+    private LocalDateTime createdAt;
+
+    public NoteRevisionResponse() {}
+
+    /**
+     * Create response from NoteRevision entity
+     * @param revision NoteRevision entity
+     * @param transactionStatus Status of the transaction that carried it, or null if unknown
+     * @return NoteRevisionResponse
+     */
+    public static NoteRevisionResponse fromEntity(NoteRevision revision, TransactionStatus transactionStatus) {
+        NoteRevisionResponse response = new NoteRevisionResponse();
+        response.setNoteId(revision.getNoteId());
+        response.setRevision(revision.getRevision());
+        response.setOperationType(revision.getOperationType());
+        response.setTransactionId(revision.getTransactionId());
+        response.setTxHash(revision.getTxHash());
+        response.setTransactionStatus(transactionStatus != null ? transactionStatus.name() : null);
+        response.setTitle(revision.getTitle());
+        response.setCategory(revision.getCategory());
+        response.setPinned(revision.isPinned());
+        response.setSnapshot(revision.isSnapshot());
+        if (!revision.isSnapshot()) {
+            response.setChangeOffset(revision.getSpliceOffset());
+            response.setRemovedLength(revision.getSpliceLength());
+            response.setInsertedText(revision.getContent());
+        }
+        response.setCreatedAt(revision.getCreatedAt());
+        return response;
+    }
+
+    // Getters and Setters
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public Integer getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Integer revision) {
+        this.revision = revision;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public void setOperationType(String operationType) {
+        this.operationType = operationType;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getTxHash() {
+        return txHash;
+    }
+
+    public void setTxHash(String txHash) {
+        this.txHash = txHash;
+    }
+
+    public String getTransactionStatus() {
+        return transactionStatus;
+    }
+
+    public void setTransactionStatus(String transactionStatus) {
+        this.transactionStatus = transactionStatus;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public boolean isPinned() {
+        return isPinned;
+    }
+
+    public void setPinned(boolean pinned) {
+        isPinned = pinned;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Integer getChangeOffset() {
+        return changeOffset;
+    }
+
+    public void setChangeOffset(Integer changeOffset) {
+        this.changeOffset = changeOffset;
+    }
+
+    public Integer getRemovedLength() {
+        return removedLength;
+    }
+
+    public void setRemovedLength(Integer removedLength) {
+        this.removedLength = removedLength;
+    }
+
+    public String getInsertedText() {
+        return insertedText;
+    }
+
+    public void setInsertedText(String insertedText) {
+        this.insertedText = insertedText;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
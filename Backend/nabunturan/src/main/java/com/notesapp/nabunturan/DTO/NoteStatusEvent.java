@@ -0,0 +1,129 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.time.LocalDateTime;
+
+import com.notesapp.nabunturan.Entity.Transaction;
+
+/**
+ * Server-sent event payload describing a note/transaction status transition
+ */
+public class NoteStatusEvent {
+
+    private Long eventId;
+    private String type; // STATUS_CHANGED, RETRIED
+    private Long noteId;
+    private String txHash;
+    private String walletAddress;
+    private String transactionStatus;
+    private String noteStatus;
+    private Integer retryCount;
+    private String errorMessage;
+    private LocalDateTime occurredAt;
+
+    public NoteStatusEvent() {}
+
+    /**
+     * Create event from a Transaction entity after its status changed
+     * @param type Event type
+     * @param transaction Transaction entity
+     * @return NoteStatusEvent (eventId is assigned when published)
+     */
+    public static NoteStatusEvent fromEntity(String type, Transaction transaction) {
+        NoteStatusEvent event = new NoteStatusEvent();
+
+        event.setType(type);
+        event.setNoteId(transaction.getNote() != null ? transaction.getNote().getId() : null);
+        event.setTxHash(transaction.getTxHash());
+        event.setWalletAddress(transaction.getWalletAddress());
+        event.setTransactionStatus(transaction.getStatus().name());
+        event.setNoteStatus(transaction.getNote() != null && transaction.getNote().getStatus() != null
+            ? transaction.getNote().getStatus().name() : null);
+        event.setRetryCount(transaction.getRetryCount());
+        event.setErrorMessage(transaction.getErrorMessage());
+        event.setOccurredAt(LocalDateTime.now());
+
+        return event;
+    }
+
+    // Getters and Setters
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public String getTxHash() {
+        return txHash;
+    }
+
+    public void setTxHash(String txHash) {
+        this.txHash = txHash;
+    }
+
+    public String getWalletAddress() {
+        return walletAddress;
+    }
+
+    public void setWalletAddress(String walletAddress) {
+        this.walletAddress = walletAddress;
+    }
+
+    public String getTransactionStatus() {
+        return transactionStatus;
+    }
+
+    public void setTransactionStatus(String transactionStatus) {
+        this.transactionStatus = transactionStatus;
+    }
+
+    public String getNoteStatus() {
+        return noteStatus;
+    }
+
+    public void setNoteStatus(String noteStatus) {
+        this.noteStatus = noteStatus;
+    }
+
+    public Integer getRetryCount() {
+        return retryCount;
+    }
+
+    public void setRetryCount(Integer retryCount) {
+        this.retryCount = retryCount;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.notesapp.nabunturan.DTO;
+
+/**
+ * Response DTO for a single title autocomplete suggestion
+ */
+public class NoteSuggestionResponse {
+
+    private Long id;
+    private String title;
+    private String category;
+
+    public NoteSuggestionResponse() {}
+
+    public NoteSuggestionResponse(Long id, String title, String category) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 
 import com.notesapp.nabunturan.Entity.Note;
 import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
 
 /**
  * Response DTO for Note with transaction status information
@@ -28,6 +29,7 @@ public class NoteWithStatusResponse {
     private String txHash;
     private String walletAddress;
     private String lastUpdatedTxHash;
+    private Long changeVersion;
     
     // Transaction info
     private Integer totalTransactions;
@@ -57,10 +59,11 @@ public class NoteWithStatusResponse {
         response.setCreatedByWallet(note.getCreatedByWallet());
         response.setOnChain(note.getOnChain());
         response.setLatestTxHash(note.getLatestTxHash());
-        response.setStatus(note.getStatus());
+        response.setStatus(note.getStatus() != null ? note.getStatus().name() : null);
         response.setTxHash(note.getTxHash());
         response.setWalletAddress(note.getWalletAddress());
         response.setLastUpdatedTxHash(note.getLastUpdatedTxHash());
+        response.setChangeVersion(note.getChangeVersion());
         
         // Calculate transaction statistics
         List<Transaction> transactions = note.getTransactions();
@@ -68,24 +71,24 @@ public class NoteWithStatusResponse {
             response.setTotalTransactions(transactions.size());
             
             long pending = transactions.stream()
-                .filter(tx -> "PENDING".equalsIgnoreCase(tx.getStatus()))
+                .filter(tx -> tx.getStatus() == TransactionStatus.PENDING)
                 .count();
             response.setPendingTransactions((int) pending);
             
             long confirmed = transactions.stream()
-                .filter(tx -> "CONFIRMED".equalsIgnoreCase(tx.getStatus()))
+                .filter(tx -> tx.getStatus() == TransactionStatus.CONFIRMED)
                 .count();
             response.setConfirmedTransactions((int) confirmed);
             
             long failed = transactions.stream()
-                .filter(tx -> "FAILED".equalsIgnoreCase(tx.getStatus()))
+                .filter(tx -> tx.getStatus() == TransactionStatus.FAILED)
                 .count();
             response.setFailedTransactions((int) failed);
             
             // Get last transaction info
             Transaction lastTx = transactions.get(transactions.size() - 1);
             response.setLastTransactionAt(lastTx.getCreatedAt());
-            response.setLastTransactionStatus(lastTx.getStatus());
+            response.setLastTransactionStatus(lastTx.getStatus().name());
         } else {
             response.setTotalTransactions(0);
             response.setPendingTransactions(0);
@@ -223,6 +226,14 @@ public class NoteWithStatusResponse {
         this.lastUpdatedTxHash = lastUpdatedTxHash;
     }
 
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public Integer getTotalTransactions() {
         return totalTransactions;
     }
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
 
 /**
  * Response DTO for Transaction history with operation type information
@@ -18,7 +19,6 @@ public class TransactionHistoryResponse {
     private String status;
     private String walletAddress;
     private String operationType; // CREATE, UPDATE, DELETE
-    private String metadataJson;
     
     // Blockchain information
     private Long blockHeight;
@@ -55,9 +55,8 @@ public class TransactionHistoryResponse {
         response.setNoteId(transaction.getNote() != null ? transaction.getNote().getId() : null);
         response.setNoteTitle(transaction.getNote() != null ? transaction.getNote().getTitle() : null);
         response.setTxHash(transaction.getTxHash());
-        response.setStatus(transaction.getStatus());
+        response.setStatus(transaction.getStatus().name());
         response.setWalletAddress(transaction.getWalletAddress());
-        response.setMetadataJson(transaction.getMetadataJson());
         
         // Blockchain info
         response.setBlockHeight(transaction.getBlockHeight());
@@ -72,15 +71,13 @@ public class TransactionHistoryResponse {
         response.setRetryCount(transaction.getRetryCount());
         response.setErrorMessage(transaction.getErrorMessage());
         
-        String status = transaction.getStatus();
-        response.setConfirmed("CONFIRMED".equalsIgnoreCase(status));
-        response.setPending("PENDING".equalsIgnoreCase(status) || 
-                           "SUBMITTED".equalsIgnoreCase(status) || 
-                           "PROCESSING".equalsIgnoreCase(status));
-        response.setFailed("FAILED".equalsIgnoreCase(status));
+        TransactionStatus status = transaction.getStatus();
+        response.setConfirmed(status == TransactionStatus.CONFIRMED);
+        response.setPending(status.isPending());
+        response.setFailed(status == TransactionStatus.FAILED);
         
-        // Determine operation type from metadata or other context
-        response.setOperationType(determineOperationType(transaction));
+        // Persisted when the transaction is recorded; rows that predate it were backfilled
+        response.setOperationType(transaction.getOperationType() != null ? transaction.getOperationType() : "UNKNOWN");
         
         // Calculate confirmation time
         if (transaction.getCreatedAt() != null && transaction.getConfirmedAt() != null) {
@@ -110,88 +107,21 @@ public class TransactionHistoryResponse {
         return responses;
     }
 
-    /**
-     * Determine operation type from transaction metadata
-     * @param transaction Transaction entity
-     * @return Operation type (CREATE, UPDATE, DELETE)
-     */
-    private static String determineOperationType(Transaction transaction) {
-        // Try to determine from metadata
-        String metadata = transaction.getMetadataJson();
-        if (metadata != null && !metadata.isEmpty()) {
-            // Normalize metadata to uppercase for case-insensitive matching
-            String metadataUpper = metadata.toUpperCase();
-            
-            // Check for various formats of operation field
-            // Format 1: "operation":"CREATE" or "operation": "CREATE"
-            // Format 2: "type":"CREATE" or "type": "CREATE"
-            if (metadataUpper.contains("\"OPERATION\"") || metadataUpper.contains("\"TYPE\"")) {
-                if (metadataUpper.contains("\"CREATE\"") || metadataUpper.contains(":\"CREATE\"") || 
-                    metadataUpper.contains(": \"CREATE\"")) {
-                    return "CREATE";
-                } else if (metadataUpper.contains("\"UPDATE\"") || metadataUpper.contains(":\"UPDATE\"") || 
-                           metadataUpper.contains(": \"UPDATE\"")) {
-                    return "UPDATE";
-                } else if (metadataUpper.contains("\"DELETE\"") || metadataUpper.contains(":\"DELETE\"") || 
-                           metadataUpper.contains(": \"DELETE\"")) {
-                    return "DELETE";
-                }
-            }
-            
-            // Try to parse JSON properly using simple string extraction
-            try {
-                // Look for "operation":"VALUE" pattern
-                int opIndex = metadata.toLowerCase().indexOf("\"operation\"");
-                if (opIndex != -1) {
-                    // Find the value after the colon
-                    int colonIndex = metadata.indexOf(":", opIndex);
-                    if (colonIndex != -1) {
-                        // Find the opening quote of the value
-                        int valueStart = metadata.indexOf("\"", colonIndex + 1);
-                        if (valueStart != -1) {
-                            // Find the closing quote
-                            int valueEnd = metadata.indexOf("\"", valueStart + 1);
-                            if (valueEnd != -1) {
-                                String operationValue = metadata.substring(valueStart + 1, valueEnd).toUpperCase();
-                                if ("CREATE".equals(operationValue) || "UPDATE".equals(operationValue) || "DELETE".equals(operationValue)) {
-                                    return operationValue;
-                                }
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Ignore parsing errors
-            }
-        }
-        
-        // Default to UNKNOWN if can't determine
-        return "UNKNOWN";
-    }
-
     /**
      * Get human-readable status description
      * @param transaction Transaction entity
      * @return Status description
      */
     private static String getStatusDescription(Transaction transaction) {
-        String status = transaction.getStatus();
-        
-        if ("CONFIRMED".equalsIgnoreCase(status)) {
-            return "Transaction confirmed on blockchain";
-        } else if ("PENDING".equalsIgnoreCase(status)) {
-            return "Waiting for blockchain confirmation";
-        } else if ("SUBMITTED".equalsIgnoreCase(status)) {
-            return "Transaction submitted to blockchain";
-        } else if ("PROCESSING".equalsIgnoreCase(status)) {
-            return "Transaction being processed";
-        } else if ("FAILED".equalsIgnoreCase(status)) {
-            return transaction.getErrorMessage() != null 
+        return switch (transaction.getStatus()) {
+            case CONFIRMED -> "Transaction confirmed on blockchain";
+            case PENDING -> "Waiting for blockchain confirmation";
+            case SUBMITTED -> "Transaction submitted to blockchain";
+            case PROCESSING -> "Transaction being processed";
+            case FAILED -> transaction.getErrorMessage() != null
                 ? "Failed: " + transaction.getErrorMessage()
                 : "Transaction failed";
-        }
-        
-        return "Unknown status";
+        };
     }
 
     // Getters and Setters
@@ -252,14 +182,6 @@ public class TransactionHistoryResponse {
         this.operationType = operationType;
     }
 
-    public String getMetadataJson() {
-        return metadataJson;
-    }
-
-    public void setMetadataJson(String metadataJson) {
-        this.metadataJson = metadataJson;
-    }
-
     public Long getBlockHeight() {
         return blockHeight;
     }
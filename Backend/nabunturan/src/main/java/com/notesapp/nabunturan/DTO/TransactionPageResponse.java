@@ -0,0 +1,69 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for one keyset-paginated page of a wallet's transaction history
+ */
+public class TransactionPageResponse {
+
+    private List<TransactionHistoryResponse> content = new ArrayList<>();
+    private int size;
+    private boolean hasMore;
+    private String nextCursor; // pass back as ?cursor= to get the next page; null on the last page
+    private Long total; // only when includeTotal=true
+
+    public TransactionPageResponse() {}
+
+    public TransactionPageResponse(List<TransactionHistoryResponse> content, int size, boolean hasMore,
+                                   String nextCursor, Long total) {
+        this.content = content;
+        this.size = size;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    // Getters and Setters
+
+    public List<TransactionHistoryResponse> getContent() {
+        return content;
+    }
+
+    public void setContent(List<TransactionHistoryResponse> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+}
@@ -3,6 +3,7 @@ package com.notesapp.nabunturan.DTO;
 import java.time.LocalDateTime;
 
 import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
 
 /**
  * Response DTO for Transaction status information
@@ -21,6 +22,8 @@ public class TransactionStatusResponse {
     private LocalDateTime lastCheckedAt;
     private Integer retryCount;
     private String errorMessage;
+    // Only filled in by the detail view; decoding it is not free
+    private String metadataJson;
     
     // Additional computed fields
     private boolean isConfirmed;
@@ -41,7 +44,7 @@ public class TransactionStatusResponse {
         response.setId(transaction.getId());
         response.setNoteId(transaction.getNote() != null ? transaction.getNote().getId() : null);
         response.setTxHash(transaction.getTxHash());
-        response.setStatus(transaction.getStatus());
+        response.setStatus(transaction.getStatus().name());
         response.setWalletAddress(transaction.getWalletAddress());
         response.setBlockHeight(transaction.getBlockHeight());
         response.setBlockTime(transaction.getBlockTime());
@@ -52,12 +55,10 @@ public class TransactionStatusResponse {
         response.setErrorMessage(transaction.getErrorMessage());
         
         // Set computed fields
-        String status = transaction.getStatus();
-        response.setConfirmed("CONFIRMED".equalsIgnoreCase(status));
-        response.setPending("PENDING".equalsIgnoreCase(status) || 
-                           "SUBMITTED".equalsIgnoreCase(status) || 
-                           "PROCESSING".equalsIgnoreCase(status));
-        response.setFailed("FAILED".equalsIgnoreCase(status));
+        TransactionStatus status = transaction.getStatus();
+        response.setConfirmed(status == TransactionStatus.CONFIRMED);
+        response.setPending(status.isPending());
+        response.setFailed(status == TransactionStatus.FAILED);
         
         // Calculate waiting time
         if (transaction.getCreatedAt() != null && transaction.getConfirmedAt() == null) {
@@ -170,6 +171,14 @@ public class TransactionStatusResponse {
         this.errorMessage = errorMessage;
     }
 
+    public String getMetadataJson() {
+        return metadataJson;
+    }
+
+    public void setMetadataJson(String metadataJson) {
+        this.metadataJson = metadataJson;
+    }
+
     public boolean isConfirmed() {
         return isConfirmed;
     }
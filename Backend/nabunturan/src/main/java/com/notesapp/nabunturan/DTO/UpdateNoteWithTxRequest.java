@@ -1,6 +1,7 @@
 package com.notesapp.nabunturan.DTO;
 
 import com.notesapp.nabunturan.Validator.ValidCardanoAddress;
+import com.notesapp.nabunturan.Validator.ValidMetadataJson;
 import com.notesapp.nabunturan.Validator.ValidTransactionHash;
 
 import jakarta.validation.constraints.NotNull;
@@ -31,6 +32,7 @@ public class UpdateNoteWithTxRequest {
     private String walletAddress;
 
     @Size(max = 5000, message = "Metadata JSON must not exceed 5000 characters")
+    @ValidMetadataJson
     private String metadataJson;
 
     public UpdateNoteWithTxRequest() {}
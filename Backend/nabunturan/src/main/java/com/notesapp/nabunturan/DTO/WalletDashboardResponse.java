@@ -0,0 +1,89 @@
+package com.notesapp.nabunturan.DTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the wallet dashboard: everything the app needs for its first render
+ */
+public class WalletDashboardResponse {
+
+    private String walletAddress;
+    private Long version; // delta sync cursor the notes below are consistent with
+    private List<NoteWithStatusResponse> notes = new ArrayList<>();
+    private boolean hasMoreNotes;
+    private long pendingCount;
+    private long totalTransactions;
+    private Map<String, Long> statusCounts = new LinkedHashMap<>();
+    private List<TransactionHistoryResponse> recentTransactions = new ArrayList<>();
+
+    public WalletDashboardResponse() {}
+
+    // Getters and Setters
+
+    public String getWalletAddress() {
+        return walletAddress;
+    }
+
+    public void setWalletAddress(String walletAddress) {
+        this.walletAddress = walletAddress;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public List<NoteWithStatusResponse> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<NoteWithStatusResponse> notes) {
+        this.notes = notes;
+    }
+
+    public boolean isHasMoreNotes() {
+        return hasMoreNotes;
+    }
+
+    public void setHasMoreNotes(boolean hasMoreNotes) {
+        this.hasMoreNotes = hasMoreNotes;
+    }
+
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public long getTotalTransactions() {
+        return totalTransactions;
+    }
+
+    public void setTotalTransactions(long totalTransactions) {
+        this.totalTransactions = totalTransactions;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public List<TransactionHistoryResponse> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<TransactionHistoryResponse> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+}
@@ -0,0 +1,92 @@
+package com.notesapp.nabunturan.Entity;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores metadata JSON as bytes: a one-byte format marker followed by either the raw UTF-8
+ * text or its deflate stream, whichever is smaller. Short metadata does not compress well,
+ * so it is kept as-is rather than paying the deflate header.
+ */
+@Converter
+public class MetadataJsonConverter implements AttributeConverter<String, byte[]> {
+
+    private static final byte FORMAT_PLAIN = 0;
+    private static final byte FORMAT_DEFLATE = 1;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String metadataJson) {
+        if (metadataJson == null) {
+            return null;
+        }
+        byte[] plain = metadataJson.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(plain);
+        boolean useDeflate = compressed.length < plain.length;
+        byte[] body = useDeflate ? compressed : plain;
+
+        byte[] stored = new byte[body.length + 1];
+        stored[0] = useDeflate ? FORMAT_DEFLATE : FORMAT_PLAIN;
+        System.arraycopy(body, 0, stored, 1, body.length);
+        return stored;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            throw new IllegalStateException("Stored metadata is empty");
+        }
+        byte[] body = Arrays.copyOfRange(stored, 1, stored.length);
+        return switch (stored[0]) {
+            case FORMAT_PLAIN -> new String(body, StandardCharsets.UTF_8);
+            case FORMAT_DEFLATE -> new String(inflate(body), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("Unknown stored metadata format: " + stored[0]);
+        };
+    }
+
+    private static byte[] deflate(byte[] plain) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Stored metadata is truncated");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Stored metadata is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -4,34 +4,46 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "notes")
 @Table(name = "notes", indexes = {
     @Index(name = "idx_notes_status", columnList = "status"),
     @Index(name = "idx_notes_tx_hash", columnList = "tx_hash"),
-    @Index(name = "idx_notes_wallet_address", columnList = "wallet_address"),
-    @Index(name = "idx_notes_created_at", columnList = "created_at")
+    @Index(name = "idx_notes_wallet_deleted_created", columnList = "wallet_id, deleted_at, created_at"),
+    @Index(name = "idx_notes_deleted_created", columnList = "deleted_at, created_at"),
+    @Index(name = "idx_notes_wallet_change_version", columnList = "wallet_id, change_version")
 })
 public class Note {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled ids are handed out without an INSERT, so inserts can be batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_ids")
+    @SequenceGenerator(name = "note_ids", sequenceName = "notes_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -58,28 +70,53 @@ public class Note {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
-    @Column(name = "created_by_wallet", length = 150)
+    @Convert(converter = WalletAddressConverter.class)
+    @Column(name = "created_by_wallet_id")
     private String createdByWallet;
 
     @Column(name = "on_chain", nullable = false)
     private Boolean onChain = false;
 
-    @Column(name = "latest_tx_hash", length = 64)
+    @Convert(converter = TransactionHashConverter.class)
+    @Column(name = "latest_tx_hash", columnDefinition = "BINARY(32)")
     private String latestTxHash;
 
-    @Column(length = 50)
-    private String status;
+    @Column(columnDefinition = "TINYINT")
+    private TransactionStatus status;
 
-    @Column(name = "tx_hash", length = 64)
+    @Convert(converter = TransactionHashConverter.class)
+    @Column(name = "tx_hash", columnDefinition = "BINARY(32)")
     private String txHash;
 
-    @Column(name = "wallet_address", length = 150)
+    // Stored as wallets.id; the address is resolved in memory
+    @Convert(converter = WalletAddressConverter.class)
+    @Column(name = "wallet_id")
     private String walletAddress;
 
-    @Column(name = "last_updated_tx_hash", length = 64)
+    @Convert(converter = TransactionHashConverter.class)
+    @Column(name = "last_updated_tx_hash", columnDefinition = "BINARY(32)")
     private String lastUpdatedTxHash;
 
+    // Wallet version at this note's last change, used as the delta sync cursor
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
+    // Number of the note's latest revision in note_revisions (0 if it has none yet)
+    @Column(name = "latest_revision", nullable = false)
+    private Integer latestRevision = 0;
+
+    // Soft delete: set when the note is deleted; the row is purged once its DELETE transaction is confirmed
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Optimistic lock: UPDATEs are conditional on the version read, so racing writers fail, not overwrite
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "note", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "note-transactions")
+    @BatchSize(size = 50) // a page of notes loads its transactions in one query, not one per note
     @JsonManagedReference
     private List<Transaction> transactions = new ArrayList<>();
 
@@ -100,6 +137,10 @@ public class Note {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -172,11 +213,11 @@ public class Note {
         this.latestTxHash = latestTxHash;
     }
 
-    public String getStatus() {
+    public TransactionStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TransactionStatus status) {
         this.status = status;
     }
 
@@ -204,6 +245,34 @@ public class Note {
         this.lastUpdatedTxHash = lastUpdatedTxHash;
     }
 
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    public Integer getLatestRevision() {
+        return latestRevision;
+    }
+
+    public void setLatestRevision(Integer latestRevision) {
+        this.latestRevision = latestRevision;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     public List<Transaction> getTransactions() {
         return transactions;
     }
@@ -233,10 +302,13 @@ public class Note {
                 ", onChain=" + onChain +
                 ", createdByWallet='" + createdByWallet + '\'' +
                 ", latestTxHash='" + latestTxHash + '\'' +
-                ", status='" + status + '\'' +
+                ", status=" + status +
                 ", txHash='" + txHash + '\'' +
                 ", walletAddress='" + walletAddress + '\'' +
                 ", lastUpdatedTxHash='" + lastUpdatedTxHash + '\'' +
+                ", changeVersion=" + changeVersion +
+                ", latestRevision=" + latestRevision +
+                ", deletedAt=" + deletedAt +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
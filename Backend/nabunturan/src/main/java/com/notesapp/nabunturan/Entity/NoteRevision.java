@@ -0,0 +1,210 @@
+package com.notesapp.nabunturan.Entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One revision of a note, written by the create or update that produced it. The content is
+ * stored in full for a snapshot, otherwise as a splice against the previous revision: replace
+ * spliceLength characters at spliceOffset with content.
+ */
+@Entity
+@Table(name = "note_revisions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_note_revisions_note_revision", columnNames = {"note_id", "revision"})
+})
+public class NoteRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_revision_ids")
+    @SequenceGenerator(name = "note_revision_ids", sequenceName = "note_revisions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "note_id", nullable = false)
+    private Long noteId;
+
+    @Column(nullable = false)
+    private Integer revision;
+
+    // No association: transaction rows may be moved to the cold archive
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Convert(converter = TransactionHashConverter.class)
+    @Column(name = "tx_hash", columnDefinition = "BINARY(32)")
+    private String txHash;
+
+    @Column(name = "operation_type", length = 10)
+    private String operationType;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(length = 100)
+    private String category;
+
+    @Column(name = "is_pinned", nullable = false)
+    private boolean pinned;
+
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Column(name = "splice_offset")
+    private Integer spliceOffset;
+
+    @Column(name = "splice_length")
+    private Integer spliceLength;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public NoteRevision() {}
+
+    public NoteRevision(Long noteId, Integer revision) {
+        this.noteId = noteId;
+        this.revision = revision;
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public Integer getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Integer revision) {
+        this.revision = revision;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getTxHash() {
+        return txHash;
+    }
+
+    public void setTxHash(String txHash) {
+        this.txHash = txHash;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public void setOperationType(String operationType) {
+        this.operationType = operationType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Integer getSpliceOffset() {
+        return spliceOffset;
+    }
+
+    public void setSpliceOffset(Integer spliceOffset) {
+        this.spliceOffset = spliceOffset;
+    }
+
+    public Integer getSpliceLength() {
+        return spliceLength;
+    }
+
+    public void setSpliceLength(Integer spliceLength) {
+        this.spliceLength = spliceLength;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "NoteRevision{" +
+                "id=" + id +
+                ", noteId=" + noteId +
+                ", revision=" + revision +
+                ", transactionId=" + transactionId +
+                ", operationType='" + operationType + '\'' +
+                ", snapshot=" + snapshot +
+                ", spliceOffset=" + spliceOffset +
+                ", spliceLength=" + spliceLength +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package com.notesapp.nabunturan.Entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Records a note removed from a wallet so delta sync can tell clients to drop it
+ */
+@Entity
+@Table(name = "note_tombstones", indexes = {
+    @Index(name = "idx_tombstones_wallet_change_version", columnList = "wallet_address, change_version")
+})
+public class NoteTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_tombstone_ids")
+    @SequenceGenerator(name = "note_tombstone_ids", sequenceName = "note_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "note_id", nullable = false)
+    private Long noteId;
+
+    @Column(name = "wallet_address", length = 150, nullable = false)
+    private String walletAddress;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    public NoteTombstone() {}
+
+    public NoteTombstone(Long noteId, String walletAddress, Long changeVersion) {
+        this.noteId = noteId;
+        this.walletAddress = walletAddress;
+        this.changeVersion = changeVersion;
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public String getWalletAddress() {
+        return walletAddress;
+    }
+
+    public void setWalletAddress(String walletAddress) {
+        this.walletAddress = walletAddress;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "NoteTombstone{" +
+                "id=" + id +
+                ", noteId=" + noteId +
+                ", walletAddress='" + walletAddress + '\'' +
+                ", changeVersion=" + changeVersion +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
@@ -2,11 +2,18 @@ package com.notesapp.nabunturan.Entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -15,19 +22,29 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "transactions")
+@NaturalIdCache(region = "transactions-by-hash")
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_status", columnList = "status"),
-    @Index(name = "idx_tx_hash", columnList = "tx_hash"),
-    @Index(name = "idx_wallet_address", columnList = "wallet_address"),
-    @Index(name = "idx_created_at", columnList = "created_at")
+    @Index(name = "uk_transactions_tx_hash", columnList = "tx_hash", unique = true),
+    @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_transactions_wallet_status", columnList = "wallet_id, status"),
+    @Index(name = "idx_transactions_wallet_operation", columnList = "wallet_id, operation_type, created_at"),
+    // Keyset history pages: range on (created_at, id) within a wallet, status/operation filtered in the index
+    @Index(name = "idx_transactions_wallet_created_id", columnList = "wallet_id, created_at, id, status, operation_type")
 })
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_ids")
+    @SequenceGenerator(name = "transaction_ids", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,17 +52,27 @@ public class Transaction {
     @JsonBackReference
     private Note note;
 
-    @Column(name = "tx_hash", length = 64)
+    // Lookups by hash resolve through the natural-id cache instead of a query
+    @NaturalId
+    @Convert(converter = TransactionHashConverter.class)
+    @Column(name = "tx_hash", columnDefinition = "BINARY(32)")
     private String txHash;
 
-    @Column(length = 50, nullable = false)
-    private String status;
+    @Column(nullable = false, columnDefinition = "TINYINT")
+    private TransactionStatus status;
 
-    @Column(name = "wallet_address", length = 150)
+    // Stored as wallets.id; the address is resolved in memory
+    @Convert(converter = WalletAddressConverter.class)
+    @Column(name = "wallet_id")
     private String walletAddress;
 
-    @Column(name = "metadata_json", columnDefinition = "TEXT")
-    private String metadataJson;
+    // Compressed in its own table and loaded only when read, so history rows stay small
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "metadata_id")
+    private TransactionMetadata metadata;
+
+    @Column(name = "operation_type", length = 10)
+    private String operationType; // CREATE, UPDATE, DELETE
 
     @Column(name = "block_height")
     private Long blockHeight;
@@ -69,9 +96,14 @@ public class Transaction {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    // Optimistic lock: status transitions are conditional on the version read, without row locks
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Transaction() {}
 
-    public Transaction(Note note, String status, String walletAddress) {
+    public Transaction(Note note, TransactionStatus status, String walletAddress) {
         this.note = note;
         this.status = status;
         this.walletAddress = walletAddress;
@@ -87,6 +119,10 @@ public class Transaction {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Note getNote() {
         return note;
     }
@@ -103,11 +139,11 @@ public class Transaction {
         this.txHash = txHash;
     }
 
-    public String getStatus() {
+    public TransactionStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TransactionStatus status) {
         this.status = status;
     }
 
@@ -119,12 +155,42 @@ public class Transaction {
         this.walletAddress = walletAddress;
     }
 
+    public TransactionMetadata getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(TransactionMetadata metadata) {
+        this.metadata = metadata;
+    }
+
+    /**
+     * Get the metadata JSON, loading it if it has not been read yet
+     * @return The canonical metadata JSON, or null if the transaction has none
+     */
     public String getMetadataJson() {
-        return metadataJson;
+        return metadata != null ? metadata.getJson() : null;
     }
 
+    /**
+     * Set the metadata JSON, expected in canonical form
+     * @param metadataJson The metadata JSON, or null to remove it
+     */
     public void setMetadataJson(String metadataJson) {
-        this.metadataJson = metadataJson;
+        if (metadataJson == null) {
+            metadata = null;
+        } else if (metadata == null) {
+            metadata = new TransactionMetadata(metadataJson);
+        } else {
+            metadata.setJson(metadataJson);
+        }
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public void setOperationType(String operationType) {
+        this.operationType = operationType;
     }
 
     public Long getBlockHeight() {
@@ -189,7 +255,8 @@ public class Transaction {
                 "id=" + id +
                 ", noteId=" + (note != null ? note.getId() : null) +
                 ", txHash='" + txHash + '\'' +
-                ", status='" + status + '\'' +
+                ", status=" + status +
+                ", operationType='" + operationType + '\'' +
                 ", walletAddress='" + walletAddress + '\'' +
                 ", blockHeight=" + blockHeight +
                 ", createdAt=" + createdAt +
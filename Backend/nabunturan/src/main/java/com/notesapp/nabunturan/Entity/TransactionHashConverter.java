@@ -0,0 +1,41 @@
+package com.notesapp.nabunturan.Entity;
+
+import java.util.HexFormat;
+
+import com.notesapp.nabunturan.Validator.TransactionHashValidator;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a 64-character hex transaction hash as its 32 raw bytes (BINARY(32)).
+ * Values read back are always lowercase hex.
+ */
+@Converter
+public class TransactionHashConverter implements AttributeConverter<String, byte[]> {
+
+    private static final int HASH_BYTES = 32;
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Override
+    public byte[] convertToDatabaseColumn(String txHash) {
+        if (txHash == null) {
+            return null;
+        }
+        if (!TransactionHashValidator.isValidFormat(txHash)) {
+            throw new IllegalArgumentException("Invalid transaction hash: " + txHash);
+        }
+        return HEX.parseHex(TransactionHashValidator.normalize(txHash));
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != HASH_BYTES) {
+            throw new IllegalStateException("Stored transaction hash has " + bytes.length + " bytes, expected " + HASH_BYTES);
+        }
+        return HEX.formatHex(bytes);
+    }
+}
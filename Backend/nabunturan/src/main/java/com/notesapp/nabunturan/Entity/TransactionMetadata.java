@@ -0,0 +1,53 @@
+package com.notesapp.nabunturan.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Client-supplied metadata of a transaction, canonicalized and compressed. Kept out of the
+ * transactions table so history reads never touch it; a transaction loads it lazily when the
+ * detail view asks for it.
+ */
+@Entity
+@Table(name = "transaction_metadata")
+public class TransactionMetadata {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_metadata_ids")
+    @SequenceGenerator(name = "transaction_metadata_ids", sequenceName = "transaction_metadata_seq", allocationSize = 50)
+    private Long id;
+
+    @Convert(converter = MetadataJsonConverter.class)
+    @Column(name = "metadata", nullable = false, columnDefinition = "BLOB")
+    private String json;
+
+    public TransactionMetadata() {}
+
+    public TransactionMetadata(String json) {
+        this.json = json;
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    public void setJson(String json) {
+        this.json = json;
+    }
+}
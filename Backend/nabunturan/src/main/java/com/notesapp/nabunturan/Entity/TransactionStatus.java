@@ -0,0 +1,96 @@
+package com.notesapp.nabunturan.Entity;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lifecycle of an on-chain transaction (and of the note it last touched), persisted as a TINYINT code.
+ * Codes are part of the schema: never reorder or reuse them.
+ */
+public enum TransactionStatus {
+
+    PENDING(0),
+    SUBMITTED(1),
+    PROCESSING(2),
+    CONFIRMED(3),
+    FAILED(4);
+
+    /** Statuses the sync worker still has to resolve */
+    public static final Set<TransactionStatus> PENDING_STATES =
+            Collections.unmodifiableSet(EnumSet.of(PENDING, SUBMITTED, PROCESSING));
+
+    /** Final statuses; only a FAILED transaction can still be retried */
+    public static final Set<TransactionStatus> SETTLED_STATES =
+            Collections.unmodifiableSet(EnumSet.of(CONFIRMED, FAILED));
+
+    private static final Map<TransactionStatus, Set<TransactionStatus>> TRANSITIONS = new EnumMap<>(TransactionStatus.class);
+    private static final TransactionStatus[] BY_CODE = new TransactionStatus[values().length];
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(SUBMITTED, PROCESSING, CONFIRMED, FAILED));
+        TRANSITIONS.put(SUBMITTED, EnumSet.of(PROCESSING, CONFIRMED, FAILED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(CONFIRMED, FAILED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.noneOf(TransactionStatus.class));
+        TRANSITIONS.put(FAILED, EnumSet.of(PENDING)); // retry
+
+        for (TransactionStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final byte code;
+
+    TransactionStatus(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Check whether the transaction is still waiting to be resolved
+     * @return true for PENDING, SUBMITTED and PROCESSING
+     */
+    public boolean isPending() {
+        return PENDING_STATES.contains(this);
+    }
+
+    /**
+     * Check whether a transaction may move from this status to another. Staying in the same
+     * status is always allowed so repeated updates are idempotent.
+     * @param next The target status
+     * @return true if the move is legal
+     */
+    public boolean canTransitionTo(TransactionStatus next) {
+        return next == this || TRANSITIONS.get(this).contains(next);
+    }
+
+    /**
+     * Resolve a status from its persisted code
+     * @param code The TINYINT code
+     * @return The status
+     */
+    public static TransactionStatus fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown transaction status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Resolve a status from its name, ignoring case
+     * @param name The status name
+     * @return The status
+     */
+    public static TransactionStatus fromName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
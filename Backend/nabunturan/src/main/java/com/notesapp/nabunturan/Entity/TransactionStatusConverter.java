@@ -0,0 +1,21 @@
+package com.notesapp.nabunturan.Entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores TransactionStatus as its one-byte code, applied to every TransactionStatus attribute
+ */
+@Converter(autoApply = true)
+public class TransactionStatusConverter implements AttributeConverter<TransactionStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(TransactionStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public TransactionStatus convertToEntityAttribute(Byte code) {
+        return code != null ? TransactionStatus.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.notesapp.nabunturan.Entity;
+
+import com.notesapp.nabunturan.Service.WalletDirectory;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a wallet address as its id in the wallets dictionary. Addresses resolve through
+ * WalletDirectory's in-process cache, so reads and query parameters do not join wallets.
+ * Writers register new addresses with WalletDirectory before flushing, so converting never inserts.
+ */
+@Converter
+public class WalletAddressConverter implements AttributeConverter<String, Long> {
+
+    private final WalletDirectory walletDirectory;
+
+    public WalletAddressConverter(WalletDirectory walletDirectory) {
+        this.walletDirectory = walletDirectory;
+    }
+
+    @Override
+    public Long convertToDatabaseColumn(String walletAddress) {
+        return walletAddress != null ? walletDirectory.toId(walletAddress) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long walletId) {
+        return walletId != null ? walletDirectory.getAddress(walletId) : null;
+    }
+}
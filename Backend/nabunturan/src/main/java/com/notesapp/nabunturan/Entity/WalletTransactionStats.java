@@ -0,0 +1,110 @@
+package com.notesapp.nabunturan.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-wallet transaction counts by status, adjusted in the same database transaction as every
+ * transaction insert, status transition and removal so stats are a single primary-key read.
+ */
+@Entity
+@Table(name = "wallet_transaction_stats")
+public class WalletTransactionStats {
+
+    @Id
+    @Column(name = "wallet_address", length = 150)
+    private String walletAddress;
+
+    @Column(name = "total_count", nullable = false)
+    private Long totalCount = 0L;
+
+    @Column(name = "pending_count", nullable = false)
+    private Long pendingCount = 0L;
+
+    @Column(name = "submitted_count", nullable = false)
+    private Long submittedCount = 0L;
+
+    @Column(name = "processing_count", nullable = false)
+    private Long processingCount = 0L;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private Long confirmedCount = 0L;
+
+    @Column(name = "failed_count", nullable = false)
+    private Long failedCount = 0L;
+
+    public WalletTransactionStats() {}
+
+    // Getters and Setters
+
+    public String getWalletAddress() {
+        return walletAddress;
+    }
+
+    public void setWalletAddress(String walletAddress) {
+        this.walletAddress = walletAddress;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Long getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(Long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public Long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    public void setSubmittedCount(Long submittedCount) {
+        this.submittedCount = submittedCount;
+    }
+
+    public Long getProcessingCount() {
+        return processingCount;
+    }
+
+    public void setProcessingCount(Long processingCount) {
+        this.processingCount = processingCount;
+    }
+
+    public Long getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public void setConfirmedCount(Long confirmedCount) {
+        this.confirmedCount = confirmedCount;
+    }
+
+    public Long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(Long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "WalletTransactionStats{" +
+                "walletAddress='" + walletAddress + '\'' +
+                ", totalCount=" + totalCount +
+                ", pendingCount=" + pendingCount +
+                ", submittedCount=" + submittedCount +
+                ", processingCount=" + processingCount +
+                ", confirmedCount=" + confirmedCount +
+                ", failedCount=" + failedCount +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package com.notesapp.nabunturan.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-wallet change counter. Every note write for a wallet increments this row inside the
+ * writing transaction, so its row lock orders a wallet's writes and the committed value is
+ * a cursor clients can sync from.
+ */
+@Entity
+@Table(name = "wallet_versions")
+public class WalletVersion {
+
+    // wallets.id of the wallet
+    @Id
+    @Column(name = "wallet_id")
+    private Long walletId;
+
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    public WalletVersion() {}
+
+    public WalletVersion(Long walletId, Long version) {
+        this.walletId = walletId;
+        this.version = version;
+    }
+
+    // Getters and Setters
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(Long walletId) {
+        this.walletId = walletId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "WalletVersion{" +
+                "walletId=" + walletId +
+                ", version=" + version +
+                '}';
+    }
+}
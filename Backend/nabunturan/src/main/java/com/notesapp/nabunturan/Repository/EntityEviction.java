@@ -0,0 +1,35 @@
+package com.notesapp.nabunturan.Repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Second-level cache eviction for single rows changed by plain JDBC, which Hibernate does not see.
+ * Only the changed entity is evicted, not its whole region as a bulk JPQL UPDATE would.
+ */
+final class EntityEviction {
+
+    private EntityEviction() {}
+
+    /**
+     * Evict an entity once the current transaction completes, whether it commits or rolls back, so
+     * neither the old row nor an uncommitted one outlives it in the cache
+     * @param entityManagerFactory Owner of the second-level cache
+     * @param entityClass The entity's class
+     * @param id The entity's ID
+     */
+    static void afterCompletion(EntityManagerFactory entityManagerFactory, Class<?> entityClass, Object id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManagerFactory.getCache().evict(entityClass, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                entityManagerFactory.getCache().evict(entityClass, id);
+            }
+        });
+    }
+}
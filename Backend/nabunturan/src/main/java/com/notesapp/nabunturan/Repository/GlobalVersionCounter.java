@@ -0,0 +1,41 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Change counter across all wallets, striped over the rows of global_versions so concurrent
+ * writers rarely wait on the same row lock. The version is the sum of the stripes, which
+ * grows with every committed increment.
+ */
+@Repository
+public class GlobalVersionCounter {
+
+    // Must match the rows inserted by V19
+    private static final int STRIPES = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GlobalVersionCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Increment a random stripe on the current transaction's connection, holding its row lock until commit
+     */
+    public void increment() {
+        jdbcTemplate.update("UPDATE global_versions SET version = version + 1 WHERE stripe = ?",
+            ThreadLocalRandom.current().nextInt(STRIPES));
+    }
+
+    /**
+     * Get the committed global version
+     * @return Sum of all stripes
+     */
+    public long getVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(version), 0) FROM global_versions", Long.class);
+        return version != null ? version : 0;
+    }
+}
@@ -1,7 +1,9 @@
 package com.notesapp.nabunturan.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,9 +11,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
 
 @Repository
-public interface NoteRepository extends JpaRepository<Note, Long> {
+public interface NoteRepository extends JpaRepository<Note, Long>, NoteRepositoryCustom {
     
     
     List<Note> findByTitleContainingIgnoreCase(String title);
@@ -20,7 +23,7 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     List<Note> findByContentContainingIgnoreCase(String content);
     
     
-    @Query("SELECT n FROM Note n WHERE LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(n.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    @Query("SELECT n FROM Note n WHERE n.deletedAt IS NULL AND (LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(n.content) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<Note> findByTitleOrContentContainingIgnoreCase(@Param("keyword") String keyword);
     
    
@@ -30,7 +33,7 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     List<Note> findByUpdatedAtAfter(LocalDateTime date);
     
    
-    List<Note> findAllByOrderByCreatedAtDesc();
+    List<Note> findByDeletedAtIsNullOrderByCreatedAtDesc();
     
 
     List<Note> findAllByOrderByUpdatedAtDesc();
@@ -43,16 +46,12 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     void deleteByTitle(String title);
 
 
-    @Modifying
-    @Query("UPDATE Note n SET n.isPinned = NOT n.isPinned WHERE n.id = :id")
-    void togglePinStatus(@Param("id") Long id);
-
     /**
-     * Find all notes by status
+     * Find all notes by status, skipping deleted notes
      * @param status The note status
      * @return List of notes with the given status
      */
-    List<Note> findByStatus(String status);
+    List<Note> findByStatusAndDeletedAtIsNull(TransactionStatus status);
 
     /**
      * Find all notes by wallet address
@@ -62,19 +61,87 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     List<Note> findByWalletAddress(String walletAddress);
 
     /**
-     * Find all notes by wallet address ordered by creation date (newest first)
+     * Find the live notes of a wallet ordered by creation date (newest first), using the
+     * (wallet_id, deleted_at, created_at) index
      * @param walletAddress The wallet address
      * @return List of notes for the wallet ordered by createdAt DESC
      */
-    List<Note> findByWalletAddressOrderByCreatedAtDesc(String walletAddress);
+    List<Note> findByWalletAddressAndDeletedAtIsNullOrderByCreatedAtDesc(String walletAddress);
 
     /**
-     * Find notes by status and wallet address
+     * Find the newest live notes of a wallet, without a count query
+     * @param walletAddress The wallet address
+     * @param limit Maximum number of notes
+     * @return List of notes ordered by createdAt DESC
+     */
+    List<Note> findByWalletAddressAndDeletedAtIsNullOrderByCreatedAtDesc(String walletAddress, Limit limit);
+
+    /**
+     * Find live notes by status and wallet address
      * @param status The note status
      * @param walletAddress The wallet address
      * @return List of notes matching both criteria
      */
-    List<Note> findByStatusAndWalletAddress(String status, String walletAddress);
+    List<Note> findByStatusAndWalletAddressAndDeletedAtIsNull(TransactionStatus status, String walletAddress);
+
+    /**
+     * Find live notes of a wallet changed after a version cursor, using the (wallet_id, change_version)
+     * index; deleted notes reach the client through the deletion tombstones instead
+     * @param walletAddress The wallet address
+     * @param changeVersion The version cursor (exclusive)
+     * @return List of changed notes ordered by change version
+     */
+    List<Note> findByWalletAddressAndChangeVersionGreaterThanAndDeletedAtIsNullOrderByChangeVersionAsc(
+        String walletAddress, Long changeVersion);
+
+    /**
+     * Load only the fields needed by the title suggestion index
+     * @param walletAddress The wallet address
+     * @return Rows of [id, title, category] for the wallet's live notes
+     */
+    @Query("SELECT n.id, n.title, n.category FROM Note n WHERE n.walletAddress = :walletAddress AND n.deletedAt IS NULL")
+    List<Object[]> findSuggestionFieldsByWalletAddress(@Param("walletAddress") String walletAddress);
+
+    /**
+     * Find several notes by ID in one query, fetching their transactions for the status breakdown
+     * @param ids The note IDs
+     * @return Live notes found (missing and deleted IDs are skipped)
+     */
+    @Query("SELECT DISTINCT n FROM Note n LEFT JOIN FETCH n.transactions WHERE n.id IN :ids AND n.deletedAt IS NULL")
+    List<Note> findWithTransactionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find which of the given note IDs exist and are not deleted, without loading the notes
+     * @param ids The note IDs
+     * @return IDs of live notes
+     */
+    @Query("SELECT n.id FROM Note n WHERE n.id IN :ids AND n.deletedAt IS NULL")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find deleted notes that can be purged: deleted before the cutoff, with no transaction still
+     * waiting to be synced and no DELETE transaction that did not confirm, using the deleted_at index
+     * @param cutoff Only notes deleted before this time
+     * @param confirmed The status of a confirmed transaction
+     * @param unsettled The statuses of transactions still being synced (TransactionStatus.PENDING_STATES)
+     * @param limit Maximum number of notes
+     * @return Note IDs, oldest deletions first
+     */
+    @Query("SELECT n.id FROM Note n WHERE n.deletedAt < :cutoff AND NOT EXISTS (" +
+           "SELECT t.id FROM Transaction t WHERE t.note = n " +
+           "AND (t.status IN :unsettled OR (t.operationType = 'DELETE' AND t.status <> :confirmed))) " +
+           "ORDER BY n.deletedAt")
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("confirmed") TransactionStatus confirmed,
+                                @Param("unsettled") Collection<TransactionStatus> unsettled, Limit limit);
+
+    /**
+     * Hard-delete notes that are marked deleted; a live note in the list is left alone
+     * @param ids The note IDs
+     * @return Number of notes deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Note n WHERE n.id IN :ids AND n.deletedAt IS NOT NULL")
+    int deleteDeletedByIdIn(@Param("ids") Collection<Long> ids);
 
 }
 
@@ -0,0 +1,19 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Note writes issued as plain SQL rather than through the Hibernate session
+ */
+public interface NoteRepositoryCustom {
+
+    /**
+     * Flip a live note's pin flag in a single conditional UPDATE, bumping its row version so
+     * concurrent versioned writes see the change
+     * @param id The note ID
+     * @param changeVersion New change version (optional, kept when null)
+     * @param updatedAt New updated date
+     * @return Number of rows updated, 0 if the note is missing or soft-deleted
+     */
+    int togglePinned(Long id, Long changeVersion, LocalDateTime updatedAt);
+}
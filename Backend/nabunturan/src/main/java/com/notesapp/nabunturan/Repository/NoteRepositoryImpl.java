@@ -0,0 +1,35 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.notesapp.nabunturan.Entity.Note;
+
+import jakarta.persistence.EntityManagerFactory;
+
+public class NoteRepositoryImpl implements NoteRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public NoteRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public int togglePinned(Long id, Long changeVersion, LocalDateTime updatedAt) {
+        // The flip happens in the database, so two toggles racing on the same note both apply
+        // instead of one failing its version check
+        int updated = jdbcTemplate.update(
+            "UPDATE notes SET is_pinned = NOT is_pinned, change_version = COALESCE(?, change_version), " +
+            "updated_at = ?, version = version + 1 WHERE id = ? AND deleted_at IS NULL",
+            changeVersion, Timestamp.valueOf(updatedAt), id);
+        if (updated > 0) {
+            EntityEviction.afterCompletion(entityManagerFactory, Note.class, id);
+        }
+        return updated;
+    }
+}
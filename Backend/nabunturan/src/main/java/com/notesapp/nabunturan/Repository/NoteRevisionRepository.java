@@ -0,0 +1,45 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.notesapp.nabunturan.Entity.NoteRevision;
+
+@Repository
+public interface NoteRevisionRepository extends JpaRepository<NoteRevision, Long> {
+
+    /**
+     * Find all revisions of a note, newest first
+     * @param noteId The note ID
+     * @return List of revisions ordered by revision DESC
+     */
+    List<NoteRevision> findByNoteIdOrderByRevisionDesc(Long noteId);
+
+    /**
+     * Find the rows needed to rebuild a revision: the nearest snapshot at or before it and every
+     * revision after that snapshot up to it, in one range scan of the (note_id, revision) key
+     * @param noteId The note ID
+     * @param revision The revision to rebuild
+     * @return Revisions ordered by revision, starting with a snapshot (empty if the revision does not exist)
+     */
+    @Query("SELECT r FROM NoteRevision r WHERE r.noteId = :noteId AND r.revision <= :revision " +
+           "AND r.revision >= (SELECT MAX(s.revision) FROM NoteRevision s " +
+           "WHERE s.noteId = :noteId AND s.snapshot = true AND s.revision <= :revision) " +
+           "ORDER BY r.revision")
+    List<NoteRevision> findReconstructionChain(@Param("noteId") Long noteId, @Param("revision") Integer revision);
+
+    /**
+     * Delete the revisions of notes being purged
+     * @param noteIds The note IDs
+     * @return Number of revisions deleted
+     */
+    @Modifying
+    @Query("DELETE FROM NoteRevision r WHERE r.noteId IN :noteIds")
+    int deleteByNoteIdIn(@Param("noteIds") Collection<Long> noteIds);
+}
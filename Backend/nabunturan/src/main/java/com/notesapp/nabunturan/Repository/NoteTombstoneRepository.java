@@ -0,0 +1,23 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.notesapp.nabunturan.Entity.NoteTombstone;
+
+@Repository
+public interface NoteTombstoneRepository extends JpaRepository<NoteTombstone, Long> {
+
+    /**
+     * Find IDs of notes removed from a wallet after a version cursor
+     * @param walletAddress The wallet address
+     * @param since The version cursor (exclusive)
+     * @return List of deleted note IDs
+     */
+    @Query("SELECT t.noteId FROM NoteTombstone t WHERE t.walletAddress = :walletAddress AND t.changeVersion > :since")
+    List<Long> findDeletedNoteIdsSince(@Param("walletAddress") String walletAddress, @Param("since") Long since);
+}
@@ -0,0 +1,105 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.notesapp.nabunturan.Entity.TransactionHashConverter;
+
+/**
+ * Permanent claims on transaction hashes, keyed by the hash alone. The unique index on
+ * transactions only covers rows still in the table; claims outlive their transactions
+ * (including transactions moved to the cold archive), so a hash can never be submitted twice.
+ * Each claim also records the note and operation it was submitted for, so a resubmitted
+ * request can be recognised and answered from a single primary-key probe.
+ */
+@Repository
+public class TransactionHashRegistry {
+
+    private static final TransactionHashConverter HASH_CONVERTER = new TransactionHashConverter();
+
+    private static final RowMapper<Claim> CLAIM_MAPPER = (resultSet, rowNum) -> new Claim(
+        HASH_CONVERTER.convertToEntityAttribute(resultSet.getBytes("tx_hash")),
+        resultSet.getLong("transaction_id"),
+        resultSet.getObject("note_id", Long.class),
+        resultSet.getString("operation_type"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionHashRegistry(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claim hashes for their transactions on the current transaction's connection, as one JDBC batch
+     * @param claims The claims to insert
+     * @throws org.springframework.dao.DuplicateKeyException if any hash was already claimed
+     */
+    public void claimAll(List<Claim> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO transaction_hashes (tx_hash, transaction_id, note_id, operation_type) VALUES (?, ?, ?, ?)",
+            claims.stream()
+                .map(claim -> new Object[] {
+                    HASH_CONVERTER.convertToDatabaseColumn(claim.txHash()), claim.transactionId(),
+                    claim.noteId(), claim.operationType() })
+                .toList());
+    }
+
+    /**
+     * Find the claim on a hash
+     * @param txHash The transaction hash
+     * @return The claim, or empty if the hash has never been submitted
+     */
+    public Optional<Claim> find(String txHash) {
+        List<Claim> claims = jdbcTemplate.query(
+            "SELECT tx_hash, transaction_id, note_id, operation_type FROM transaction_hashes WHERE tx_hash = ?",
+            CLAIM_MAPPER, HASH_CONVERTER.convertToDatabaseColumn(txHash));
+        return claims.stream().findFirst();
+    }
+
+    /**
+     * Find the claims on several hashes
+     * @param txHashes The transaction hashes
+     * @return Claims keyed by lowercase hash; hashes never submitted are omitted
+     */
+    public Map<String, Claim> findAll(Collection<String> txHashes) {
+        Map<String, Claim> claims = new HashMap<>();
+        if (txHashes.isEmpty()) {
+            return claims;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(txHashes.size(), "?"));
+        jdbcTemplate.query(
+            "SELECT tx_hash, transaction_id, note_id, operation_type FROM transaction_hashes WHERE tx_hash IN ("
+                + placeholders + ")",
+            CLAIM_MAPPER, txHashes.stream().map(HASH_CONVERTER::convertToDatabaseColumn).toArray())
+            .forEach(claim -> claims.put(claim.txHash(), claim));
+        return claims;
+    }
+
+    /**
+     * A claimed hash and what it was submitted for. Claims made before operations were recorded
+     * have no note or operation and never match a resubmission.
+     */
+    public record Claim(String txHash, long transactionId, Long noteId, String operationType) {
+
+        /**
+         * Check whether a request is a resubmission of the one that made this claim
+         * @param operationType The requested operation (CREATE, UPDATE, DELETE)
+         * @param noteId The requested note, or null for CREATE
+         * @return true if the operation matches and, for UPDATE and DELETE, so does the note
+         */
+        public boolean matches(String operationType, Long noteId) {
+            return operationType.equals(this.operationType) && (noteId == null || noteId.equals(this.noteId));
+        }
+    }
+}
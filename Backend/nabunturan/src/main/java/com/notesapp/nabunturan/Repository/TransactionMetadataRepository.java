@@ -0,0 +1,10 @@
+package com.notesapp.nabunturan.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.notesapp.nabunturan.Entity.TransactionMetadata;
+
+@Repository
+public interface TransactionMetadataRepository extends JpaRepository<TransactionMetadata, Long> {
+}
@@ -1,26 +1,24 @@
 package com.notesapp.nabunturan.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-
-    /**
-     * Find a transaction by its transaction hash
-     * @param txHash The transaction hash
-     * @return Optional containing the transaction if found
-     */
-    Optional<Transaction> findByTxHash(String txHash);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
 
     /**
      * Find all transactions associated with a specific note
@@ -29,12 +27,19 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     List<Transaction> findByNoteId(Long noteId);
 
+    /**
+     * Find all transactions of several notes in one query
+     * @param noteIds The note IDs
+     * @return List of transactions for the notes
+     */
+    List<Transaction> findByNoteIdIn(Collection<Long> noteIds);
+
     /**
      * Find all transactions with a specific status
      * @param status The transaction status
      * @return List of transactions with the given status
      */
-    List<Transaction> findByStatus(String status);
+    List<Transaction> findByStatus(TransactionStatus status);
 
     /**
      * Find all transactions for a specific wallet address
@@ -49,15 +54,53 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @param time The cutoff time for last checked
      * @return List of transactions matching the criteria
      */
-    List<Transaction> findByStatusAndLastCheckedAtBefore(String status, LocalDateTime time);
+    List<Transaction> findByStatusAndLastCheckedAtBefore(TransactionStatus status, LocalDateTime time);
+
+    /**
+     * Find all transactions in any of the given statuses, oldest first
+     * @param statuses The transaction statuses (TransactionStatus.PENDING_STATES for the sync worker)
+     * @return List of transactions ordered by created date
+     */
+    List<Transaction> findByStatusInOrderByCreatedAtAsc(Collection<TransactionStatus> statuses);
+
+    /**
+     * Find transactions in the given statuses created before a cutoff, lowest IDs first, for the archiver
+     * @param statuses The transaction statuses (TransactionStatus.SETTLED_STATES)
+     * @param cutoff Only transactions created before this time
+     * @param limit Maximum number of transactions
+     * @return List of transactions ordered by ID, with their metadata loaded
+     */
+    @EntityGraph(attributePaths = "metadata")
+    List<Transaction> findByStatusInAndCreatedAtBeforeOrderByIdAsc(Collection<TransactionStatus> statuses,
+                                                                   LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Delete archived transactions that are still in one of the given statuses; a transaction
+     * retried since it was archived is kept
+     * @param ids The archived transaction IDs
+     * @param statuses The statuses they were archived in (TransactionStatus.SETTLED_STATES)
+     * @return Number of transactions deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids AND t.status IN :statuses")
+    int deleteByIdInAndStatusIn(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<TransactionStatus> statuses);
 
     /**
-     * Find all pending transactions using custom query
-     * This includes transactions with status 'PENDING', 'SUBMITTED', or 'PROCESSING'
-     * @return List of pending transactions ordered by created date
+     * Delete every transaction of the given notes, for the purge of deleted notes
+     * @param noteIds The note IDs
+     * @return Number of transactions deleted
      */
-    @Query("SELECT t FROM Transaction t WHERE t.status IN ('PENDING', 'SUBMITTED', 'PROCESSING') ORDER BY t.createdAt ASC")
-    List<Transaction> findPendingTransactions();
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.note.id IN :noteIds")
+    int deleteByNoteIdIn(@Param("noteIds") Collection<Long> noteIds);
+
+    /**
+     * Find which of the given transaction IDs still exist
+     * @param ids The transaction IDs
+     * @return IDs that are still in the table
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
     /**
      * Find transactions by wallet address with pagination, ordered by creation date descending
@@ -66,4 +109,51 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @return Page of transactions for the wallet
      */
     Page<Transaction> findByWalletAddressOrderByCreatedAtDesc(String walletAddress, Pageable pageable);
+
+    /**
+     * Find several transactions by hash in one query
+     * @param txHashes The transaction hashes
+     * @return Transactions found (unknown hashes are skipped)
+     */
+    List<Transaction> findByTxHashIn(Collection<String> txHashes);
+
+    /**
+     * Find the newest transactions of a wallet with their notes, without a count query
+     * @param walletAddress The wallet address
+     * @param limit Maximum number of transactions
+     * @return List of transactions ordered by createdAt DESC
+     */
+    @EntityGraph(attributePaths = "note")
+    List<Transaction> findWithNoteByWalletAddressOrderByCreatedAtDescIdDesc(String walletAddress, Limit limit);
+
+    /**
+     * Count a wallet's transactions per status in one aggregate query
+     * @param walletAddress The wallet address
+     * @return Rows of [status, count]
+     */
+    @Query("SELECT t.status, COUNT(t) FROM Transaction t WHERE t.walletAddress = :walletAddress GROUP BY t.status")
+    List<Object[]> countByStatusForWallet(@Param("walletAddress") String walletAddress);
+
+    /**
+     * Count all transactions per status in one aggregate query
+     * @return Rows of [status, count]
+     */
+    @Query("SELECT t.status, COUNT(t) FROM Transaction t GROUP BY t.status")
+    List<Object[]> countByStatusForAllWallets();
+
+    /**
+     * Count transactions in any of the given statuses
+     * @param statuses The transaction statuses
+     * @return Number of matching transactions
+     */
+    long countByStatusIn(Collection<TransactionStatus> statuses);
+
+    /**
+     * Count a wallet's transactions in any of the given statuses, answered from the
+     * (wallet_id, status) index without reading rows
+     * @param walletAddress The wallet address
+     * @param statuses The transaction statuses
+     * @return Number of matching transactions
+     */
+    long countByWalletAddressAndStatusIn(String walletAddress, Collection<TransactionStatus> statuses);
 }
@@ -0,0 +1,55 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+
+/**
+ * Transaction queries implemented against the Hibernate session or plain SQL rather than derived from method names
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Find a transaction by its transaction hash, served from the natural-id cache when possible
+     * @param txHash The transaction hash
+     * @return Optional containing the transaction if found
+     */
+    Optional<Transaction> findByTxHash(String txHash);
+
+    /**
+     * Find one page of a wallet's history, newest first, seeking past a (createdAt, id) cursor so the
+     * page is a single bounded range read on the (wallet_id, created_at, id) index
+     * @param walletAddress The wallet address
+     * @param status Status filter (optional)
+     * @param operationType Operation type filter (optional)
+     * @param beforeCreatedAt Created date of the last row of the previous page (optional)
+     * @param beforeId ID of the last row of the previous page (required with beforeCreatedAt)
+     * @param limit Maximum number of rows
+     * @return Transactions with their notes, ordered by createdAt DESC, id DESC
+     */
+    List<Transaction> findWalletPage(String walletAddress, TransactionStatus status, String operationType,
+                                     LocalDateTime beforeCreatedAt, Long beforeId, int limit);
+
+    /**
+     * Count a wallet's transactions matching the same filters as findWalletPage
+     * @param walletAddress The wallet address
+     * @param status Status filter (optional)
+     * @param operationType Operation type filter (optional)
+     * @return Number of matching transactions
+     */
+    long countWalletTransactions(String walletAddress, TransactionStatus status, String operationType);
+
+    /**
+     * Count one unconfirmed sync check in a single conditional UPDATE, bumping the row version so
+     * concurrent versioned writes see the change
+     * @param id The transaction ID
+     * @param statuses Statuses the transaction must still be in
+     * @param checkedAt Date of the check
+     * @return Number of rows updated, 0 if the transaction is missing or has left those statuses
+     */
+    int incrementRetryCount(Long id, Collection<TransactionStatus> statuses, LocalDateTime checkedAt);
+}
@@ -0,0 +1,110 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+import com.notesapp.nabunturan.Validator.TransactionHashValidator;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Transaction> findByTxHash(String txHash) {
+        if (txHash == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Transaction.class)
+                .loadOptional(TransactionHashValidator.normalize(txHash));
+    }
+
+    @Override
+    public List<Transaction> findWalletPage(String walletAddress, TransactionStatus status, String operationType,
+                                            LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT t FROM Transaction t LEFT JOIN FETCH t.note WHERE ");
+        appendFilters(jpql, status, operationType);
+        if (beforeCreatedAt != null) {
+            // Expanded row comparison so MySQL turns it into two index ranges
+            jpql.append(" AND (t.createdAt < :beforeCreatedAt OR (t.createdAt = :beforeCreatedAt AND t.id < :beforeId))");
+        }
+        jpql.append(" ORDER BY t.createdAt DESC, t.id DESC");
+
+        TypedQuery<Transaction> query = entityManager.createQuery(jpql.toString(), Transaction.class);
+        bindFilters(query, walletAddress, status, operationType);
+        if (beforeCreatedAt != null) {
+            query.setParameter("beforeCreatedAt", beforeCreatedAt);
+            query.setParameter("beforeId", beforeId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countWalletTransactions(String walletAddress, TransactionStatus status, String operationType) {
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(t) FROM Transaction t WHERE ");
+        appendFilters(jpql, status, operationType);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        bindFilters(query, walletAddress, status, operationType);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public int incrementRetryCount(Long id, Collection<TransactionStatus> statuses, LocalDateTime checkedAt) {
+        // Counted in the database, so the sync worker never conflicts with a concurrent status change;
+        // a transaction that has already left the given statuses is simply not matched
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(checkedAt));
+        args.add(id);
+        for (TransactionStatus status : statuses) {
+            args.add(status.getCode());
+        }
+        int updated = jdbcTemplate.update(
+            "UPDATE transactions SET retry_count = retry_count + 1, last_checked_at = ?, version = version + 1 " +
+            "WHERE id = ? AND status IN (" + String.join(", ", Collections.nCopies(statuses.size(), "?")) + ")",
+            args.toArray());
+        if (updated > 0) {
+            EntityEviction.afterCompletion(entityManager.getEntityManagerFactory(), Transaction.class, id);
+        }
+        return updated;
+    }
+
+    private static void appendFilters(StringBuilder jpql, TransactionStatus status, String operationType) {
+        jpql.append("t.walletAddress = :walletAddress");
+        if (status != null) {
+            jpql.append(" AND t.status = :status");
+        }
+        if (operationType != null) {
+            jpql.append(" AND t.operationType = :operationType");
+        }
+    }
+
+    private static void bindFilters(TypedQuery<?> query, String walletAddress, TransactionStatus status, String operationType) {
+        query.setParameter("walletAddress", walletAddress);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (operationType != null) {
+            query.setParameter("operationType", operationType);
+        }
+    }
+}
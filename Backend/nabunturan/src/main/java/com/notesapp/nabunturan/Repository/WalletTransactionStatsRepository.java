@@ -0,0 +1,42 @@
+package com.notesapp.nabunturan.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.notesapp.nabunturan.Entity.WalletTransactionStats;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface WalletTransactionStatsRepository extends JpaRepository<WalletTransactionStats, String> {
+
+    /**
+     * Atomically create or adjust a wallet's counters by the given deltas
+     * @param walletAddress The wallet address
+     * @param total Change in total count
+     * @param pending Change in PENDING count
+     * @param submitted Change in SUBMITTED count
+     * @param processing Change in PROCESSING count
+     * @param confirmed Change in CONFIRMED count
+     * @param failed Change in FAILED count
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "wallet_transaction_stats"))
+    @Query(value = "INSERT INTO wallet_transaction_stats (wallet_address, total_count, pending_count, submitted_count, " +
+                   "processing_count, confirmed_count, failed_count) " +
+                   "VALUES (:walletAddress, :total, :pending, :submitted, :processing, :confirmed, :failed) " +
+                   "ON DUPLICATE KEY UPDATE total_count = total_count + VALUES(total_count), " +
+                   "pending_count = pending_count + VALUES(pending_count), " +
+                   "submitted_count = submitted_count + VALUES(submitted_count), " +
+                   "processing_count = processing_count + VALUES(processing_count), " +
+                   "confirmed_count = confirmed_count + VALUES(confirmed_count), " +
+                   "failed_count = failed_count + VALUES(failed_count)", nativeQuery = true)
+    void adjust(@Param("walletAddress") String walletAddress, @Param("total") long total,
+                @Param("pending") long pending, @Param("submitted") long submitted,
+                @Param("processing") long processing, @Param("confirmed") long confirmed,
+                @Param("failed") long failed);
+}
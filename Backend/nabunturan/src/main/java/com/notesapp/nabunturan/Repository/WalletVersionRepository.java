@@ -0,0 +1,22 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.notesapp.nabunturan.Entity.WalletVersion;
+
+@Repository
+public interface WalletVersionRepository extends JpaRepository<WalletVersion, Long>, WalletVersionRepositoryCustom {
+
+    /**
+     * Get the current version of a wallet with a single primary-key read
+     * @param walletId The wallet's id in the wallets dictionary
+     * @return Optional containing the version if the wallet has any writes
+     */
+    @Query("SELECT w.version FROM WalletVersion w WHERE w.walletId = :walletId")
+    Optional<Long> findVersionByWalletId(@Param("walletId") long walletId);
+}
@@ -0,0 +1,14 @@
+package com.notesapp.nabunturan.Repository;
+
+/**
+ * Wallet version writes implemented with plain JDBC rather than derived from method names
+ */
+public interface WalletVersionRepositoryCustom {
+
+    /**
+     * Atomically create or increment a wallet's version, holding its row lock until commit
+     * @param walletId The wallet's id in the wallets dictionary
+     * @return The new wallet version
+     */
+    long increment(long walletId);
+}
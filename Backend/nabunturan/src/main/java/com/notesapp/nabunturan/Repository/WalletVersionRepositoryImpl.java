@@ -0,0 +1,38 @@
+package com.notesapp.nabunturan.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+public class WalletVersionRepositoryImpl implements WalletVersionRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WalletVersionRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long increment(long walletId) {
+        // The new value travels back in this statement's OK packet as its generated key, so it cannot
+        // be clobbered by another statement's LAST_INSERT_ID() on the same connection. Plain JDBC also
+        // keeps Hibernate from flushing or evicting any second-level cache region for this write.
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO wallet_versions (wallet_id, version) VALUES (?, LAST_INSERT_ID(1)) " +
+                "ON DUPLICATE KEY UPDATE version = LAST_INSERT_ID(version + 1)", Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, walletId);
+            return statement;
+        }, keyHolder);
+        // An updated row counts as two affected rows, and the driver reports one key per affected row
+        // counting up from the real value, so only the first key is meaningful
+        if (keyHolder.getKeyList().isEmpty()) {
+            throw new IllegalStateException("No version returned when incrementing wallet: " + walletId);
+        }
+        return ((Number) keyHolder.getKeyList().get(0).values().iterator().next()).longValue();
+    }
+}
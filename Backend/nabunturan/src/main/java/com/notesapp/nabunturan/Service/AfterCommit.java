@@ -0,0 +1,30 @@
+package com.notesapp.nabunturan.Service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects on in-memory state until the surrounding transaction commits,
+ * so a rollback never leaks into caches, indexes or client notifications
+ */
+final class AfterCommit {
+
+    private AfterCommit() {}
+
+    /**
+     * Run the action after commit, or immediately when no transaction is active
+     * @param action The side effect to run
+     */
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
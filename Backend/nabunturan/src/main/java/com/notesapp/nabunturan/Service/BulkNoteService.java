@@ -0,0 +1,233 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.notesapp.nabunturan.DTO.BulkNoteOperation;
+import com.notesapp.nabunturan.DTO.BulkNoteResponse;
+import com.notesapp.nabunturan.DTO.BulkNoteResult;
+import com.notesapp.nabunturan.Repository.TransactionHashRegistry;
+import com.notesapp.nabunturan.Repository.TransactionHashRegistry.Claim;
+
+/**
+ * Applies bulk note requests. Operations are checked together first (duplicate hashes, hashes
+ * already submitted, missing notes); resubmitted operations are answered from their original
+ * result, and the rest are applied in chunks, one database transaction per chunk, so the note
+ * and transaction INSERTs/UPDATEs and hash claims of a chunk are flushed as JDBC batches at
+ * commit and each wallet's version and counters are written once per chunk. If a chunk fails,
+ * its operations are retried one per transaction so only the offending operation is reported
+ * as failed.
+ */
+@Service
+public class BulkNoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkNoteService.class);
+
+    private final NotesService notesService;
+    private final TransactionHashRegistry transactionHashRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bulk.chunk-size:100}")
+    private int chunkSize;
+
+    public BulkNoteService(NotesService notesService, TransactionHashRegistry transactionHashRegistry,
+                           TransactionTemplate transactionTemplate) {
+        this.notesService = notesService;
+        this.transactionHashRegistry = transactionHashRegistry;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Validate and apply a list of note operations
+     * @param operations The operations, in the order they should be applied
+     * @return BulkNoteResponse with one result per operation, in request order
+     */
+    public BulkNoteResponse apply(List<BulkNoteOperation> operations) {
+        BulkNoteResult[] results = new BulkNoteResult[operations.size()];
+        List<Integer> accepted = validate(operations, results);
+
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            List<Integer> chunk = accepted.subList(start, Math.min(start + chunkSize, accepted.size()));
+            try {
+                List<Long> noteIds = transactionTemplate.execute(status -> {
+                    List<Long> applied = new ArrayList<>(chunk.size());
+                    for (int index : chunk) {
+                        applied.add(applyValidated(operations.get(index)));
+                    }
+                    return applied;
+                });
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = succeeded(chunk.get(i), operations.get(chunk.get(i)), noteIds.get(i));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Bulk chunk of {} operations rolled back, applying them one by one: {}",
+                    chunk.size(), e.getMessage());
+                for (int index : chunk) {
+                    results[index] = applyIsolated(index, operations.get(index));
+                }
+            }
+        }
+
+        return new BulkNoteResponse(Arrays.asList(results));
+    }
+
+    /**
+     * Check every operation before anything is written. Failed operations get their result
+     * filled in; the rest are returned for applying.
+     * @param operations The operations
+     * @param results Results array to fill in for rejected operations
+     * @return Indexes of the operations that passed, in request order
+     */
+    private List<Integer> validate(List<BulkNoteOperation> operations, BulkNoteResult[] results) {
+        Set<String> seenHashes = new HashSet<>();
+        Set<Long> seenNoteIds = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+
+        for (int index = 0; index < operations.size(); index++) {
+            BulkNoteOperation operation = operations.get(index);
+            String error = null;
+            if ("CREATE".equals(operation.getOperation())) {
+                if (!StringUtils.hasText(operation.getTitle())) {
+                    error = "Note title cannot be empty";
+                }
+            } else if (operation.getNoteId() == null) {
+                error = "Note ID is required for " + operation.getOperation();
+            } else if (!seenNoteIds.add(operation.getNoteId())) {
+                error = "Note " + operation.getNoteId() + " is targeted by more than one operation";
+            }
+            if (error == null && !seenHashes.add(operation.getTxHash())) {
+                error = "Transaction hash appears more than once in the request";
+            }
+
+            if (error != null) {
+                results[index] = failed(index, operation, error);
+            } else {
+                accepted.add(index);
+            }
+        }
+
+        // Hashes and notes are checked against the database once for the whole request
+        Set<String> hashes = new LinkedHashSet<>();
+        for (int index : accepted) {
+            hashes.add(operations.get(index).getTxHash());
+        }
+        Map<String, Claim> claims = transactionHashRegistry.findAll(hashes);
+
+        Set<Long> noteIds = new LinkedHashSet<>();
+        for (int index : accepted) {
+            Long noteId = existingNoteId(operations.get(index), claims.get(operations.get(index).getTxHash()));
+            if (noteId != null) {
+                noteIds.add(noteId);
+            }
+        }
+        // IDs only: notes loaded by a read-only lookup would stay read-only in the request's
+        // persistence context, and the chunks below would then update them without effect
+        Set<Long> existingNoteIds = noteIds.isEmpty() ? Set.of() : notesService.getExistingNoteIds(noteIds);
+
+        List<Integer> valid = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            BulkNoteOperation operation = operations.get(index);
+            Claim claim = claims.get(operation.getTxHash());
+            Long noteId = existingNoteId(operation, claim);
+            boolean create = "CREATE".equals(operation.getOperation());
+
+            if (claim != null && !claim.matches(operation.getOperation(), create ? null : operation.getNoteId())) {
+                results[index] = failed(index, operation,
+                    "Transaction hash already submitted for another operation: " + operation.getTxHash());
+            } else if (noteId != null && !existingNoteIds.contains(noteId)) {
+                results[index] = failed(index, operation, "Note not found with id: " + noteId);
+            } else if (claim != null) {
+                // Resubmitted operation: report the original result, write nothing
+                results[index] = succeeded(index, operation, claim.noteId());
+            } else {
+                valid.add(index);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Get the existing note an operation needs: the note an UPDATE or DELETE targets, or for a
+     * resubmitted CREATE or UPDATE the note its original request wrote. A resubmitted DELETE needs none.
+     * @param operation The operation
+     * @param claim The claim on the operation's hash, or null if it was never submitted
+     * @return The note ID, or null if no existing note is needed
+     */
+    private static Long existingNoteId(BulkNoteOperation operation, Claim claim) {
+        if (claim != null) {
+            return "DELETE".equals(operation.getOperation()) ? null : claim.noteId();
+        }
+        return "CREATE".equals(operation.getOperation()) ? null : operation.getNoteId();
+    }
+
+    /**
+     * Apply one operation in its own transaction, recording the failure instead of throwing
+     * @param index Position of the operation in the request
+     * @param operation The operation
+     * @return The operation's result
+     */
+    private BulkNoteResult applyIsolated(int index, BulkNoteOperation operation) {
+        try {
+            Long noteId = transactionTemplate.execute(status -> applyOne(operation));
+            return succeeded(index, operation, noteId);
+        } catch (RuntimeException e) {
+            return failed(index, operation, e.getMessage());
+        }
+    }
+
+    /**
+     * Apply one operation that validate() cleared inside the current transaction, without probing
+     * its hash again; the chunk's claims are inserted in one batch at commit
+     * @param operation The operation
+     * @return ID of the note created, updated or deleted
+     */
+    private Long applyValidated(BulkNoteOperation operation) {
+        return switch (operation.getOperation()) {
+            case "CREATE" -> notesService.applyCreate(operation.toCreateRequest()).getId();
+            case "UPDATE" -> notesService.applyUpdate(operation.toUpdateRequest()).getId();
+            case "DELETE" -> {
+                notesService.applyDelete(operation.toDeleteRequest());
+                yield operation.getNoteId();
+            }
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation.getOperation());
+        };
+    }
+
+    /**
+     * Apply one operation inside the current transaction, answering a hash claimed since validation
+     * as a resubmission
+     * @param operation The operation
+     * @return ID of the note created, updated or deleted
+     */
+    private Long applyOne(BulkNoteOperation operation) {
+        return switch (operation.getOperation()) {
+            case "CREATE" -> notesService.createNote(operation.toCreateRequest()).getId();
+            case "UPDATE" -> notesService.updateNote(operation.toUpdateRequest()).getId();
+            case "DELETE" -> {
+                notesService.deleteNote(operation.toDeleteRequest());
+                yield operation.getNoteId();
+            }
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation.getOperation());
+        };
+    }
+
+    private static BulkNoteResult succeeded(int index, BulkNoteOperation operation, Long noteId) {
+        return BulkNoteResult.succeeded(index, operation.getOperation(), noteId, operation.getTxHash());
+    }
+
+    private static BulkNoteResult failed(int index, BulkNoteOperation operation, String error) {
+        return BulkNoteResult.failed(index, operation.getOperation(), operation.getNoteId(), operation.getTxHash(), error);
+    }
+}
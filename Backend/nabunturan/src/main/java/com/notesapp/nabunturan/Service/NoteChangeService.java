@@ -0,0 +1,197 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.notesapp.nabunturan.DTO.NoteChangesResponse;
+import com.notesapp.nabunturan.DTO.NoteWithStatusResponse;
+import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Entity.NoteTombstone;
+import com.notesapp.nabunturan.Repository.GlobalVersionCounter;
+import com.notesapp.nabunturan.Repository.NoteRepository;
+import com.notesapp.nabunturan.Repository.NoteTombstoneRepository;
+import com.notesapp.nabunturan.Repository.WalletVersionRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Maintains per-wallet change versions on notes and answers delta sync queries
+ */
+@Service
+public class NoteChangeService {
+
+    // Transaction resource marking that the global version is already bumped at commit
+    private static final Object GLOBAL_BUMP_KEY = new Object();
+    // Transaction resource holding the version each wallet was bumped to in this transaction
+    private static final Object WALLET_VERSIONS_KEY = new Object();
+
+    private final WalletVersionRepository walletVersionRepository;
+    private final GlobalVersionCounter globalVersionCounter;
+    private final EntityManager entityManager;
+    private final NoteTombstoneRepository noteTombstoneRepository;
+    private final NoteRepository noteRepository;
+    private final ResponseCacheService responseCacheService;
+    private final WalletDirectory walletDirectory;
+
+    @Autowired
+    public NoteChangeService(WalletVersionRepository walletVersionRepository,
+                             GlobalVersionCounter globalVersionCounter,
+                             EntityManager entityManager,
+                             NoteTombstoneRepository noteTombstoneRepository,
+                             NoteRepository noteRepository,
+                             ResponseCacheService responseCacheService,
+                             WalletDirectory walletDirectory) {
+        this.walletVersionRepository = walletVersionRepository;
+        this.globalVersionCounter = globalVersionCounter;
+        this.entityManager = entityManager;
+        this.noteTombstoneRepository = noteTombstoneRepository;
+        this.noteRepository = noteRepository;
+        this.responseCacheService = responseCacheService;
+        this.walletDirectory = walletDirectory;
+    }
+
+    /**
+     * Stamp a note with its wallet's next change version. Must run inside the writing transaction
+     * so the wallet's version row stays locked until the note change commits.
+     * @param note The changed note
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markChanged(Note note) {
+        markGlobalChanged();
+        if (note.getWalletAddress() == null || note.getWalletAddress().isEmpty()) {
+            return;
+        }
+        note.setChangeVersion(nextVersion(note.getWalletAddress()));
+    }
+
+    /**
+     * Take a wallet's next change version for a note written by a conditional UPDATE instead of through
+     * its entity. Must run inside the writing transaction.
+     * @param walletAddress The note's wallet address
+     * @return The new version, or null if the note has no wallet
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long nextChangeVersion(String walletAddress) {
+        markGlobalChanged();
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            return null;
+        }
+        return nextVersion(walletAddress);
+    }
+
+    /**
+     * Bump a wallet's version without stamping a note, for changes only visible in its transaction history
+     * @param walletAddress The wallet address
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markWalletChanged(String walletAddress) {
+        markGlobalChanged();
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            return;
+        }
+        nextVersion(walletAddress);
+    }
+
+    /**
+     * Record that a note left a wallet, either by deletion or by moving to another wallet
+     * @param noteId The note ID
+     * @param walletAddress The wallet the note was removed from
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long noteId, String walletAddress) {
+        markGlobalChanged();
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            return;
+        }
+        noteTombstoneRepository.save(new NoteTombstone(noteId, walletAddress, nextVersion(walletAddress)));
+    }
+
+    /**
+     * Bump the global version when the current transaction commits, at most once per transaction.
+     * The wallet methods above already do this; call it directly for writes that touch no wallet.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markGlobalChanged() {
+        // Ordered last and flushed first so the stripe is the last row lock taken; each transaction
+        // holds one stripe and takes it after all its wallet and note locks, so stripes cannot deadlock
+        TransactionScoped.get(GLOBAL_BUMP_KEY, () -> Boolean.TRUE, TransactionScoped.GLOBAL_VERSION, bump -> {
+            entityManager.flush();
+            globalVersionCounter.increment();
+        });
+    }
+
+    /**
+     * Get the committed change version of a wallet
+     * @param walletAddress The wallet address
+     * @return Current version, or 0 if the wallet has never been written
+     */
+    public long getCurrentVersion(String walletAddress) {
+        long walletId = walletDirectory.toId(walletAddress);
+        if (walletId == WalletDirectory.UNKNOWN_WALLET_ID) {
+            return 0L;
+        }
+        return walletVersionRepository.findVersionByWalletId(walletId).orElse(0L);
+    }
+
+    /**
+     * Get a version tag for conditional requests without loading any rows. For a wallet this is
+     * its change counter; for unfiltered lists it is the global counter.
+     * @param walletAddress The wallet address (optional)
+     * @return Version tag that changes whenever the listed data changes
+     */
+    public String getVersionTag(String walletAddress) {
+        if (walletAddress != null && !walletAddress.isEmpty()) {
+            return "w" + getCurrentVersion(walletAddress);
+        }
+
+        return "g" + globalVersionCounter.getVersion();
+    }
+
+    /**
+     * Get notes changed and deleted since a cursor. When nothing changed, only the
+     * wallet's version row is read.
+     * @param walletAddress The wallet address
+     * @param since The cursor returned by the previous call (0 for a full load)
+     * @return Changed notes, deleted note IDs and the new cursor
+     */
+    @Transactional(readOnly = true)
+    public NoteChangesResponse getChangesSince(String walletAddress, long since) {
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            throw new IllegalArgumentException("Wallet address cannot be null or empty");
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("Cursor cannot be negative");
+        }
+
+        long current = getCurrentVersion(walletAddress);
+        if (since >= current) {
+            return new NoteChangesResponse(current, List.of(), List.of());
+        }
+
+        List<Note> changed = noteRepository
+                .findByWalletAddressAndChangeVersionGreaterThanAndDeletedAtIsNullOrderByChangeVersionAsc(
+                    walletAddress, since);
+        List<Long> deletedIds = noteTombstoneRepository.findDeletedNoteIdsSince(walletAddress, since);
+
+        return new NoteChangesResponse(current, NoteWithStatusResponse.fromEntities(changed), deletedIds);
+    }
+
+    private long nextVersion(String walletAddress) {
+        // One bump per wallet per transaction: nothing outside the transaction can see the versions in
+        // between, so every note the transaction changes in a wallet shares the version it took first
+        return TransactionScoped.get(WALLET_VERSIONS_KEY, HashMap<String, Long>::new)
+            .computeIfAbsent(walletAddress, address -> {
+                // Writers register their wallet up front; this only inserts for a wallet that skipped it
+                walletDirectory.register(address);
+                long version = walletVersionRepository.increment(walletDirectory.toId(address));
+                // Responses cached under the old version can no longer be requested; free them once committed
+                AfterCommit.run(() -> responseCacheService.invalidateWallet(address));
+                return version;
+            });
+    }
+}
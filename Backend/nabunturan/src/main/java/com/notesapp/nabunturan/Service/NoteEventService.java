@@ -0,0 +1,331 @@
+package com.notesapp.nabunturan.Service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.notesapp.nabunturan.DTO.NoteStatusEvent;
+import com.notesapp.nabunturan.Entity.Transaction;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans out note/transaction status transitions to Server-Sent Event subscribers, per wallet.
+ * Recent events are kept in a bounded per-wallet replay buffer so a reconnecting client can
+ * resume from its Last-Event-ID instead of refetching everything.
+ * Events are queued per subscriber and written by a dedicated sender pool, so a slow client
+ * never blocks the committing thread or the heartbeat scheduler.
+ */
+@Service
+public class NoteEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteEventService.class);
+
+    public static final String EVENT_STATUS = "status";
+    public static final String EVENT_RESYNC = "resync";
+
+    @Value("${events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${events.replay-buffer-size:100}")
+    private int replayBufferSize;
+
+    @Value("${events.replay-max-wallets:10000}")
+    private int replayMaxWallets;
+
+    @Value("${events.sender-threads:4}")
+    private int senderThreads;
+
+    private ExecutorService sender;
+
+    // Seeded from the clock so IDs keep increasing across restarts; anything below the seed
+    // was issued by a previous process and cannot be replayed
+    private final long sequenceStart = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong(sequenceStart);
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // Highest event ID held by any wallet buffer that was dropped as a whole
+    private long droppedUpTo = 0;
+
+    // Access-ordered so the least recently active wallet's buffer is dropped first
+    private final LinkedHashMap<String, ReplayBuffer> replayBuffers =
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ReplayBuffer> eldest) {
+                    if (size() > replayMaxWallets) {
+                        NoteStatusEvent last = eldest.getValue().events.peekLast();
+                        droppedUpTo = Math.max(droppedUpTo, last != null ? last.getEventId() : 0);
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+    @PostConstruct
+    void startSender() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "note-events-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        sender = Executors.newFixedThreadPool(senderThreads, threadFactory);
+    }
+
+    @PreDestroy
+    void stopSender() {
+        sender.shutdownNow();
+        for (Map.Entry<String, List<Subscriber>> entry : subscribers.entrySet()) {
+            for (Subscriber subscriber : entry.getValue()) {
+                removeSubscriber(entry.getKey(), subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Open an event stream for a wallet, replaying missed events when resuming
+     * @param walletAddress The wallet address
+     * @param lastEventId Last event ID seen by the client (optional)
+     * @return The SSE emitter bound to the request
+     */
+    public SseEmitter subscribe(String walletAddress, Long lastEventId) {
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            throw new IllegalArgumentException("Wallet address cannot be null or empty");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        List<Subscriber> walletSubscribers;
+
+        // Replay is queued and the stream attached under the lock publish() holds while it
+        // numbers and queues events, so every event reaches the client exactly once, in order
+        synchronized (replayBuffers) {
+            if (lastEventId != null) {
+                queueReplay(walletAddress, subscriber, lastEventId);
+            }
+            // Added inside compute so a concurrent removal cannot drop the list it is added to
+            walletSubscribers = subscribers.compute(walletAddress, (key, list) -> {
+                List<Subscriber> target = list != null ? list : new CopyOnWriteArrayList<>();
+                target.add(subscriber);
+                return target;
+            });
+        }
+
+        emitter.onCompletion(() -> removeSubscriber(walletAddress, subscriber));
+        emitter.onTimeout(() -> {
+            removeSubscriber(walletAddress, subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> removeSubscriber(walletAddress, subscriber));
+
+        scheduleDrain(walletAddress, subscriber);
+
+        logger.debug("Wallet {} subscribed to note events ({} open streams)",
+            walletAddress, walletSubscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Publish a status transition for the transaction's wallet once the surrounding transaction commits
+     * @param type Event type
+     * @param transaction The transaction whose status changed
+     */
+    public void publish(String type, Transaction transaction) {
+        NoteStatusEvent event = NoteStatusEvent.fromEntity(type, transaction);
+        String walletAddress = event.getWalletAddress();
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            return;
+        }
+
+        AfterCommit.run(() -> {
+            List<Subscriber> walletSubscribers;
+            synchronized (replayBuffers) {
+                event.setEventId(sequence.incrementAndGet());
+                remember(walletAddress, event);
+
+                walletSubscribers = subscribers.get(walletAddress);
+                if (walletSubscribers == null) {
+                    return;
+                }
+                for (Subscriber subscriber : walletSubscribers) {
+                    subscriber.pending.add(event);
+                }
+            }
+            for (Subscriber subscriber : walletSubscribers) {
+                scheduleDrain(walletAddress, subscriber);
+            }
+        });
+    }
+
+    /**
+     * Send a comment line to every open stream so proxies keep idle connections alive
+     * and dead clients are detected
+     */
+    @Scheduled(fixedDelayString = "${events.heartbeat-interval:15000}")
+    public void sendHeartbeats() {
+        for (Map.Entry<String, List<Subscriber>> entry : subscribers.entrySet()) {
+            for (Subscriber subscriber : entry.getValue()) {
+                subscriber.heartbeatPending = true;
+                scheduleDrain(entry.getKey(), subscriber);
+            }
+        }
+    }
+
+    /**
+     * Get the number of open event streams
+     * @return Open stream count across all wallets
+     */
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    // Caller holds the replayBuffers lock
+    private void queueReplay(String walletAddress, Subscriber subscriber, long lastEventId) {
+        ReplayBuffer buffer = replayBuffers.get(walletAddress);
+        boolean complete;
+        if (lastEventId < sequenceStart) {
+            // The cursor was issued by a previous process
+            complete = false;
+        } else if (buffer == null) {
+            // Either the wallet never had events, or its buffer was dropped after the cursor
+            complete = lastEventId >= droppedUpTo;
+        } else {
+            complete = lastEventId >= buffer.trimmedUpTo;
+        }
+
+        if (!complete) {
+            // Events were dropped from the buffer; the client must refetch its state
+            subscriber.resyncPending = true;
+            return;
+        }
+        // A cursor ahead of the sequence cannot have been issued here; don't let it hide new events
+        subscriber.lastSentId = Math.min(lastEventId, sequence.get());
+        if (buffer != null) {
+            for (NoteStatusEvent event : buffer.events) {
+                if (event.getEventId() > lastEventId) {
+                    subscriber.pending.add(event);
+                }
+            }
+        }
+    }
+
+    private void remember(String walletAddress, NoteStatusEvent event) {
+        ReplayBuffer buffer = replayBuffers.computeIfAbsent(walletAddress, key -> new ReplayBuffer());
+        buffer.events.addLast(event);
+        while (buffer.events.size() > replayBufferSize) {
+            buffer.trimmedUpTo = buffer.events.removeFirst().getEventId();
+        }
+    }
+
+    // At most one drain per subscriber is queued or running, so its sends stay in order
+    private void scheduleDrain(String walletAddress, Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(walletAddress, subscriber));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the stream is completed by stopSender
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(String walletAddress, Subscriber subscriber) {
+        try {
+            do {
+                if (subscriber.resyncPending) {
+                    subscriber.resyncPending = false;
+                    subscriber.emitter.send(SseEmitter.event()
+                        .name(EVENT_RESYNC)
+                        .data("{}", MediaType.APPLICATION_JSON));
+                }
+                NoteStatusEvent event;
+                while ((event = subscriber.pending.poll()) != null) {
+                    // Skips events the client already has, e.g. queued by both replay and publish
+                    if (event.getEventId() <= subscriber.lastSentId) {
+                        continue;
+                    }
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getEventId()))
+                        .name(EVENT_STATUS)
+                        .data(event, MediaType.APPLICATION_JSON));
+                    subscriber.lastSentId = event.getEventId();
+                }
+                if (subscriber.heartbeatPending) {
+                    subscriber.heartbeatPending = false;
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                subscriber.draining.set(false);
+                // Work queued after the last check but before the flag cleared would otherwise wait
+            } while (subscriber.hasWork() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // draining stays set, so nothing more is queued for the dead stream
+            logger.debug("Dropping closed event stream for wallet {}: {}", walletAddress, e.getMessage());
+            subscriber.pending.clear();
+            removeSubscriber(walletAddress, subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    // Callers that end the stream themselves also complete its emitter; the emitter's own
+    // completion and error callbacks only unsubscribe
+    private void removeSubscriber(String walletAddress, Subscriber subscriber) {
+        subscribers.computeIfPresent(walletAddress, (key, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * An open stream with the events queued for it and the newest event ID it has been sent
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<NoteStatusEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean resyncPending = false;
+        private volatile boolean heartbeatPending = false;
+        // Only touched by the drain holding the draining flag
+        private long lastSentId = 0;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private boolean hasWork() {
+            return resyncPending || heartbeatPending || !pending.isEmpty();
+        }
+    }
+
+    /**
+     * Bounded per-wallet event history, remembering the newest event it had to discard
+     */
+    private static final class ReplayBuffer {
+        private final Deque<NoteStatusEvent> events = new ArrayDeque<>();
+        private long trimmedUpTo = 0;
+    }
+}
@@ -0,0 +1,173 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.notesapp.nabunturan.DTO.NoteRevisionResponse;
+import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Entity.NoteRevision;
+import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Repository.NoteRevisionRepository;
+import com.notesapp.nabunturan.Repository.TransactionRepository;
+
+/**
+ * Keeps the revision history of notes. Each create or update adds a revision holding either
+ * the full content (a snapshot) or the one splice that turns the previous content into the new
+ * one, so storage grows with the size of the edit. Every snapshot-interval revisions a snapshot
+ * is written, which bounds the rows read to rebuild any revision.
+ */
+@Service
+public class NoteRevisionService {
+
+    private final NoteRevisionRepository noteRevisionRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${revisions.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    @Autowired
+    public NoteRevisionService(NoteRevisionRepository noteRevisionRepository,
+                               TransactionRepository transactionRepository) {
+        this.noteRevisionRepository = noteRevisionRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Record a note's new state as its next revision. Must run inside the writing transaction.
+     * @param note The note, already carrying its new fields
+     * @param previousContent Content before the change, or null for a note that was just created
+     * @param transaction The transaction that carried the change
+     * @return The recorded revision
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public NoteRevision recordRevision(Note note, String previousContent, Transaction transaction) {
+        // A new note is persisted already numbered as revision 1
+        int number = previousContent == null ? 1 : note.getLatestRevision() + 1;
+        String content = note.getContent() != null ? note.getContent() : "";
+
+        NoteRevision revision = new NoteRevision(note.getId(), number);
+        revision.setTransactionId(transaction.getId());
+        revision.setTxHash(transaction.getTxHash());
+        revision.setOperationType(transaction.getOperationType());
+        revision.setTitle(note.getTitle());
+        revision.setCategory(note.getCategory());
+        revision.setPinned(note.isPinned());
+        revision.setSnapshot(true);
+        revision.setContent(content);
+
+        if (previousContent != null && (number - 1) % snapshotInterval != 0) {
+            // Trim the common prefix and suffix; what is left in between is the edit
+            int prefix = 0;
+            int shorter = Math.min(previousContent.length(), content.length());
+            while (prefix < shorter && previousContent.charAt(prefix) == content.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < shorter - prefix && previousContent.charAt(previousContent.length() - 1 - suffix)
+                    == content.charAt(content.length() - 1 - suffix)) {
+                suffix++;
+            }
+            // Never split a surrogate pair, so the stored text stays valid UTF-8
+            if (prefix > 0 && Character.isHighSurrogate(content.charAt(prefix - 1))) {
+                prefix--;
+            }
+            if (suffix > 0 && Character.isLowSurrogate(content.charAt(content.length() - suffix))) {
+                suffix--;
+            }
+
+            String inserted = content.substring(prefix, content.length() - suffix);
+            // A full rewrite is stored as a snapshot, which costs the same and ends the chain
+            if (inserted.length() < content.length()) {
+                revision.setSnapshot(false);
+                revision.setSpliceOffset(prefix);
+                revision.setSpliceLength(previousContent.length() - prefix - suffix);
+                revision.setContent(inserted);
+            }
+        }
+
+        note.setLatestRevision(number);
+        return noteRevisionRepository.save(revision);
+    }
+
+    /**
+     * List the revisions of a note, newest first, with the status of the transaction behind each
+     * @param noteId The note ID
+     * @return Revisions without their full content
+     */
+    @Transactional(readOnly = true)
+    public List<NoteRevisionResponse> getRevisions(Long noteId) {
+        List<NoteRevision> revisions = noteRevisionRepository.findByNoteIdOrderByRevisionDesc(noteId);
+        List<Long> transactionIds = revisions.stream()
+                .map(NoteRevision::getTransactionId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        // One IN query; archived transactions are missing and leave their revision's status unset
+        Map<Long, Transaction> transactions = new HashMap<>();
+        if (!transactionIds.isEmpty()) {
+            transactionRepository.findAllById(transactionIds)
+                    .forEach(transaction -> transactions.put(transaction.getId(), transaction));
+        }
+
+        return revisions.stream()
+                .map(revision -> {
+                    Transaction transaction = transactions.get(revision.getTransactionId());
+                    return NoteRevisionResponse.fromEntity(revision, transaction != null ? transaction.getStatus() : null);
+                })
+                .toList();
+    }
+
+    /**
+     * Materialize one revision of a note from the nearest snapshot and the splices after it
+     * @param noteId The note ID
+     * @param revision The revision number
+     * @return The revision with its full content
+     * @throws IllegalArgumentException if the note has no such revision
+     */
+    @Transactional(readOnly = true)
+    public NoteRevisionResponse getRevision(Long noteId, Integer revision) {
+        List<NoteRevision> chain = noteRevisionRepository.findReconstructionChain(noteId, revision);
+        if (chain.isEmpty() || !chain.get(chain.size() - 1).getRevision().equals(revision)) {
+            throw new IllegalArgumentException("Revision " + revision + " not found for note " + noteId);
+        }
+
+        String content = "";
+        for (NoteRevision step : chain) {
+            if (step.isSnapshot()) {
+                content = step.getContent();
+            } else {
+                content = content.substring(0, step.getSpliceOffset()) + step.getContent()
+                        + content.substring(step.getSpliceOffset() + step.getSpliceLength());
+            }
+        }
+
+        NoteRevision target = chain.get(chain.size() - 1);
+        Transaction transaction = target.getTransactionId() != null
+                ? transactionRepository.findById(target.getTransactionId()).orElse(null)
+                : null;
+        NoteRevisionResponse response =
+                NoteRevisionResponse.fromEntity(target, transaction != null ? transaction.getStatus() : null);
+        response.setContent(content);
+        return response;
+    }
+
+    /**
+     * Delete the revisions of notes being purged. Must run inside the purging transaction.
+     * @param noteIds The note IDs
+     * @return Number of revisions deleted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deleteRevisions(Collection<Long> noteIds) {
+        return noteRevisionRepository.deleteByNoteIdIn(noteIds);
+    }
+}
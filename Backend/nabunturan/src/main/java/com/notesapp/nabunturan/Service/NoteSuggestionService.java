@@ -0,0 +1,456 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.notesapp.nabunturan.DTO.NoteSuggestionResponse;
+import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Repository.NoteRepository;
+
+/**
+ * In-memory type-ahead index over note titles and categories, kept per wallet.
+ * A wallet is loaded from the database on its first lookup and is then kept up to date
+ * by NotesService, so keystrokes never reach the database. Wallets are evicted in LRU
+ * order once the configured memory budget is exceeded.
+ */
+@Service
+public class NoteSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteSuggestionService.class);
+
+    private final NoteRepository noteRepository;
+
+    @Value("${suggest.memory-budget-bytes:16777216}")
+    private long memoryBudgetBytes;
+
+    @Value("${suggest.max-results:10}")
+    private int maxResults;
+
+    // Access-ordered so iteration starts at the least recently used wallet
+    private final LinkedHashMap<String, WalletIndex> wallets = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes = 0;
+
+    @Autowired
+    public NoteSuggestionService(NoteRepository noteRepository) {
+        this.noteRepository = noteRepository;
+    }
+
+    /**
+     * Suggest notes whose title, a word of the title, or category starts with the query
+     * @param walletAddress Wallet address owning the notes
+     * @param query Prefix typed by the user
+     * @param limit Maximum number of suggestions (capped by suggest.max-results)
+     * @return Matching notes in key order, without duplicates
+     */
+    public List<NoteSuggestionResponse> suggest(String walletAddress, String query, Integer limit) {
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            throw new IllegalArgumentException("Wallet address cannot be null or empty");
+        }
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int max = limit != null && limit > 0 ? Math.min(limit, maxResults) : maxResults;
+
+        return getOrLoad(walletAddress).snapshot().search(prefix, max);
+    }
+
+    /**
+     * Apply a created or updated note to its wallet's index once the surrounding transaction commits
+     * @param note The saved note
+     * @param previousWalletAddress Wallet the note belonged to before the change (optional)
+     */
+    public void onNoteSaved(Note note, String previousWalletAddress) {
+        Long id = note.getId();
+        String walletAddress = note.getWalletAddress();
+        String title = note.getTitle();
+        String category = note.getCategory();
+
+        AfterCommit.run(() -> {
+            if (previousWalletAddress != null && !previousWalletAddress.equals(walletAddress)) {
+                removeFromLoaded(previousWalletAddress, id);
+            }
+            synchronized (this) {
+                WalletIndex index = walletAddress != null ? wallets.get(walletAddress) : null;
+                if (index != null) {
+                    usedBytes += index.put(id, title, category);
+                    evictIfNeeded();
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove a deleted note from its wallet's index once the surrounding transaction commits
+     * @param walletAddress Wallet address of the note
+     * @param noteId The note ID
+     */
+    public void onNoteDeleted(String walletAddress, Long noteId) {
+        AfterCommit.run(() -> removeFromLoaded(walletAddress, noteId));
+    }
+
+    /**
+     * Drop a wallet's index so it is reloaded from the database on the next lookup
+     * @param walletAddress The wallet address
+     */
+    public synchronized void invalidate(String walletAddress) {
+        WalletIndex removed = wallets.remove(walletAddress);
+        if (removed != null) {
+            usedBytes -= removed.bytes();
+        }
+    }
+
+    private WalletIndex getOrLoad(String walletAddress) {
+        WalletIndex index;
+        synchronized (this) {
+            index = wallets.get(walletAddress);
+            if (index == null) {
+                // Registered before the query runs, so notes committed while it runs are buffered, not lost
+                index = new WalletIndex();
+                wallets.put(walletAddress, index);
+                usedBytes += index.bytes();
+            } else {
+                return index.awaitLoaded();
+            }
+        }
+
+        // Load outside the lock so a slow query does not block other wallets
+        List<Object[]> rows;
+        try {
+            rows = noteRepository.findSuggestionFieldsByWalletAddress(walletAddress);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (wallets.remove(walletAddress, index)) {
+                    usedBytes -= index.bytes();
+                }
+            }
+            index.failLoading(e);
+            throw e;
+        }
+
+        synchronized (this) {
+            long delta = index.finishLoading(rows);
+            // An index evicted or invalidated while loading still answers this lookup, but is not kept
+            if (wallets.get(walletAddress) == index) {
+                usedBytes += delta;
+                evictIfNeeded();
+            }
+        }
+        logger.debug("Loaded suggestion index for wallet {} with {} notes", walletAddress, rows.size());
+        return index;
+    }
+
+    private synchronized void removeFromLoaded(String walletAddress, Long noteId) {
+        WalletIndex index = walletAddress != null ? wallets.get(walletAddress) : null;
+        if (index != null) {
+            usedBytes += index.remove(noteId);
+        }
+    }
+
+    private void evictIfNeeded() {
+        var iterator = wallets.entrySet().iterator();
+        // Always keep the most recently used wallet, even if it alone exceeds the budget
+        while (usedBytes > memoryBudgetBytes && wallets.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, WalletIndex> eldest = iterator.next();
+            usedBytes -= eldest.getValue().bytes();
+            iterator.remove();
+            logger.debug("Evicted suggestion index for wallet {}", eldest.getKey());
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Per-wallet source of truth plus an immutable sorted-key snapshot that writes patch in place.
+     * While the wallet is loading, writes are buffered and applied on top of the loaded rows.
+     * Mutated only under the service lock; lookups read the snapshot without locking.
+     */
+    private static final class WalletIndex {
+
+        private static final long BASE_BYTES = 64;
+
+        private final Map<Long, String[]> notes = new HashMap<>();
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        // Writes made while loading, as [id, title, category] with a null title for a removal; null once loaded
+        private List<Object[]> pendingWrites = new ArrayList<>();
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+        private long bytes = BASE_BYTES;
+
+        long bytes() {
+            return bytes;
+        }
+
+        Snapshot snapshot() {
+            return snapshot;
+        }
+
+        /**
+         * Add or replace a note
+         * @return Change in estimated bytes
+         */
+        long put(Long id, String title, String category) {
+            if (pendingWrites != null) {
+                pendingWrites.add(new Object[] { id, title, category });
+                return 0;
+            }
+            String[] fields = { title, category };
+            String[] previous = notes.put(id, fields);
+            snapshot = snapshot.with(id, fields);
+            long delta = estimatedBytes(fields) - (previous != null ? estimatedBytes(previous) : 0);
+            bytes += delta;
+            return delta;
+        }
+
+        /**
+         * Remove a note
+         * @return Change in estimated bytes
+         */
+        long remove(Long id) {
+            if (pendingWrites != null) {
+                pendingWrites.add(new Object[] { id, null, null });
+                return 0;
+            }
+            String[] previous = notes.remove(id);
+            if (previous == null) {
+                return 0;
+            }
+            snapshot = snapshot.without(id);
+            bytes -= estimatedBytes(previous);
+            return -estimatedBytes(previous);
+        }
+
+        /**
+         * Install the loaded rows, then replay the writes buffered while they were read
+         * @param rows Rows of [id, title, category]
+         * @return Change in estimated bytes
+         */
+        long finishLoading(List<Object[]> rows) {
+            long before = bytes;
+            for (Object[] row : rows) {
+                String[] fields = { (String) row[1], (String) row[2] };
+                notes.put((Long) row[0], fields);
+                bytes += estimatedBytes(fields);
+            }
+            snapshot = Snapshot.build(notes);
+
+            List<Object[]> writes = pendingWrites;
+            pendingWrites = null;
+            for (Object[] write : writes) {
+                if (write[1] != null) {
+                    put((Long) write[0], (String) write[1], (String) write[2]);
+                } else {
+                    remove((Long) write[0]);
+                }
+            }
+            loaded.complete(null);
+            return bytes - before;
+        }
+
+        void failLoading(RuntimeException cause) {
+            loaded.completeExceptionally(cause);
+        }
+
+        /**
+         * Wait for the thread loading this wallet
+         * @return This index
+         */
+        WalletIndex awaitLoaded() {
+            try {
+                loaded.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            return this;
+        }
+
+        private static long estimatedBytes(String[] fields) {
+            // Rough per-note cost: map entry, the two strings and their sorted-key copies
+            long bytes = 96;
+            for (String field : fields) {
+                if (field != null) {
+                    bytes += 2L * (48 + field.length());
+                }
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Sorted prefix keys with parallel primitive postings, searched by binary search. Built once
+     * when a wallet loads; a write produces a copy with the note's keys merged in, which is linear
+     * in the index size instead of a full re-sort.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new long[0], new String[0][]);
+
+        private final String[] keys;
+        private final long[] noteIds;
+        // Title and category of the posting's note, shared by all of the note's keys
+        private final String[][] fields;
+
+        private Snapshot(String[] keys, long[] noteIds, String[][] fields) {
+            this.keys = keys;
+            this.noteIds = noteIds;
+            this.fields = fields;
+        }
+
+        static Snapshot build(Map<Long, String[]> source) {
+            List<Posting> postings = new ArrayList<>();
+            for (Map.Entry<Long, String[]> entry : source.entrySet()) {
+                addPostings(postings, entry.getKey(), entry.getValue());
+            }
+            postings.sort(null);
+            return fromSorted(postings, postings.size());
+        }
+
+        /**
+         * Copy this snapshot with a note's keys replaced
+         * @param id The note ID
+         * @param noteFields The note's title and category
+         * @return The new snapshot
+         */
+        Snapshot with(long id, String[] noteFields) {
+            List<Posting> added = new ArrayList<>();
+            addPostings(added, id, noteFields);
+            added.sort(null);
+
+            int size = keys.length + added.size();
+            String[] mergedKeys = new String[size];
+            long[] mergedIds = new long[size];
+            String[][] mergedFields = new String[size][];
+            int count = 0;
+            int next = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (noteIds[i] == id) {
+                    continue;
+                }
+                while (next < added.size() && added.get(next).key().compareTo(keys[i]) < 0) {
+                    Posting posting = added.get(next++);
+                    mergedKeys[count] = posting.key();
+                    mergedIds[count] = id;
+                    mergedFields[count++] = noteFields;
+                }
+                mergedKeys[count] = keys[i];
+                mergedIds[count] = noteIds[i];
+                mergedFields[count++] = fields[i];
+            }
+            while (next < added.size()) {
+                mergedKeys[count] = added.get(next++).key();
+                mergedIds[count] = id;
+                mergedFields[count++] = noteFields;
+            }
+            return new Snapshot(Arrays.copyOf(mergedKeys, count), Arrays.copyOf(mergedIds, count),
+                Arrays.copyOf(mergedFields, count));
+        }
+
+        /**
+         * Copy this snapshot without a note's keys
+         * @param id The note ID
+         * @return The new snapshot
+         */
+        Snapshot without(long id) {
+            String[] keptKeys = new String[keys.length];
+            long[] keptIds = new long[keys.length];
+            String[][] keptFields = new String[keys.length][];
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (noteIds[i] != id) {
+                    keptKeys[count] = keys[i];
+                    keptIds[count] = noteIds[i];
+                    keptFields[count++] = fields[i];
+                }
+            }
+            return new Snapshot(Arrays.copyOf(keptKeys, count), Arrays.copyOf(keptIds, count),
+                Arrays.copyOf(keptFields, count));
+        }
+
+        private static Snapshot fromSorted(List<Posting> postings, int size) {
+            String[] keys = new String[size];
+            long[] noteIds = new long[size];
+            String[][] fields = new String[size][];
+            for (int i = 0; i < size; i++) {
+                Posting posting = postings.get(i);
+                keys[i] = posting.key();
+                noteIds[i] = posting.noteId();
+                fields[i] = posting.fields();
+            }
+            return new Snapshot(keys, noteIds, fields);
+        }
+
+        private static void addPostings(List<Posting> postings, long noteId, String[] noteFields) {
+            String title = normalize(noteFields[0]);
+            addPosting(postings, title, noteId, noteFields);
+            for (String word : title.split("\\s+")) {
+                if (!word.equals(title)) {
+                    addPosting(postings, word, noteId, noteFields);
+                }
+            }
+            addPosting(postings, normalize(noteFields[1]), noteId, noteFields);
+        }
+
+        private static void addPosting(List<Posting> postings, String key, long noteId, String[] noteFields) {
+            if (!key.isEmpty()) {
+                postings.add(new Posting(key, noteId, noteFields));
+            }
+        }
+
+        List<NoteSuggestionResponse> search(String prefix, int limit) {
+            int position = Arrays.binarySearch(keys, prefix);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            // Step back over equal keys so every posting for an exact match is included
+            while (position > 0 && keys[position - 1].equals(prefix)) {
+                position--;
+            }
+
+            List<NoteSuggestionResponse> results = new ArrayList<>();
+            long[] seen = new long[limit];
+            int seenCount = 0;
+
+            for (int i = position; i < keys.length && seenCount < limit && keys[i].startsWith(prefix); i++) {
+                long id = noteIds[i];
+                boolean duplicate = false;
+                for (int j = 0; j < seenCount; j++) {
+                    if (seen[j] == id) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if (duplicate) {
+                    continue;
+                }
+                seen[seenCount++] = id;
+                results.add(new NoteSuggestionResponse(id, fields[i][0], fields[i][1]));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * One key of a note, ordered by key for building and merging snapshots
+     */
+    private record Posting(String key, long noteId, String[] fields) implements Comparable<Posting> {
+
+        @Override
+        public int compareTo(Posting other) {
+            return key.compareTo(other.key);
+        }
+    }
+}
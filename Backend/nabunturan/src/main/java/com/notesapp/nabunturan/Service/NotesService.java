@@ -1,35 +1,74 @@
 package com.notesapp.nabunturan.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import com.notesapp.nabunturan.DTO.CreateNoteWithTxRequest;
 import com.notesapp.nabunturan.DTO.DeleteNoteWithTxRequest;
+import com.notesapp.nabunturan.DTO.NoteChangesResponse;
+import com.notesapp.nabunturan.DTO.NoteRevisionResponse;
+import com.notesapp.nabunturan.DTO.NoteSuggestionResponse;
 import com.notesapp.nabunturan.DTO.UpdateNoteWithTxRequest;
 import com.notesapp.nabunturan.Entity.Note;
 import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
 import com.notesapp.nabunturan.Repository.NoteRepository;
+import com.notesapp.nabunturan.Repository.TransactionHashRegistry;
+import com.notesapp.nabunturan.Repository.TransactionHashRegistry.Claim;
+
+import jakarta.persistence.EntityManager;
 
 @Service
 public class NotesService {
 
     private final NoteRepository noteRepository;
     private final TransactionService transactionService;
+    private final NoteSuggestionService noteSuggestionService;
+    private final NoteChangeService noteChangeService;
+    private final NoteRevisionService noteRevisionService;
+    private final TransactionHashRegistry transactionHashRegistry;
+    private final WalletDirectory walletDirectory;
+    private final EntityManager entityManager;
+
+    @Value("${batch-get.chunk-size:500}")
+    private int batchChunkSize;
 
     @Autowired
-    public NotesService(NoteRepository noteRepository, TransactionService transactionService) {
+    public NotesService(NoteRepository noteRepository, TransactionService transactionService,
+                        NoteSuggestionService noteSuggestionService, NoteChangeService noteChangeService,
+                        NoteRevisionService noteRevisionService, TransactionHashRegistry transactionHashRegistry,
+                        WalletDirectory walletDirectory, EntityManager entityManager) {
         this.noteRepository = noteRepository;
         this.transactionService = transactionService;
+        this.noteSuggestionService = noteSuggestionService;
+        this.noteChangeService = noteChangeService;
+        this.noteRevisionService = noteRevisionService;
+        this.transactionHashRegistry = transactionHashRegistry;
+        this.walletDirectory = walletDirectory;
+        this.entityManager = entityManager;
     }
 
     /**
      * Create a new note with transaction tracking
      * @param request CreateNoteWithTxRequest containing note details and transaction info
-     * @return Created note with PENDING status
+     * @return Created note with PENDING status; for a resubmitted txHash, the note it created
      */
     @Transactional
     public Note createNote(CreateNoteWithTxRequest request) {
@@ -41,36 +80,64 @@ public class NotesService {
             throw new IllegalArgumentException("Note title cannot be empty");
         }
 
+        // A resubmitted request is answered with the original note and writes nothing
+        Optional<Claim> claim = transactionHashRegistry.find(request.getTxHash());
+        if (claim.isPresent()) {
+            return getReplayedNote(claim.get(), "CREATE", null);
+        }
+        return applyCreate(request);
+    }
+
+    /**
+     * Create a note without checking for a resubmitted txHash, for callers that have already
+     * looked up the request's claim. A hash claimed in the meantime still fails the commit.
+     * @param request CreateNoteWithTxRequest containing note details and transaction info
+     * @return Created note with PENDING status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Note applyCreate(CreateNoteWithTxRequest request) {
+        // Resolved before the note is persisted, so flushing never registers wallets
+        walletDirectory.register(request.getWalletAddress());
+
         // Create note
         Note note = new Note();
         note.setTitle(request.getTitle());
         note.setContent(request.getContent() != null ? request.getContent() : "");
         note.setPinned(request.isPinned());
         note.setCategory(request.getCategory());
-        note.setStatus("PENDING");
+        note.setStatus(TransactionStatus.PENDING);
         note.setTxHash(request.getTxHash());
         note.setWalletAddress(request.getWalletAddress());
         note.setCreatedByWallet(request.getWalletAddress());
         note.setOnChain(false);
+        // Everything the INSERT writes is set before persisting; a field changed afterwards
+        // would cost a second UPDATE of the new row
+        note.setLastUpdatedTxHash(request.getTxHash());
+        note.setLatestRevision(1);
+        noteChangeService.markChanged(note);
 
-        // Save note first to get ID
+        // Persisting assigns the pooled ID; the INSERT is batched at commit
         Note savedNote = noteRepository.save(note);
 
         // Create transaction record
         Transaction transaction = transactionService.createTransaction(
-            savedNote.getId(),
+            savedNote,
             request.getTxHash(),
             request.getWalletAddress(),
-            request.getMetadataJson()
+            request.getMetadataJson(),
+            "CREATE"
         );
 
+        noteRevisionService.recordRevision(savedNote, null, transaction);
+        noteSuggestionService.onNoteSaved(savedNote, null);
+
         return savedNote;
     }
 
     /**
      * Update an existing note with transaction tracking
      * @param request UpdateNoteWithTxRequest containing updated note details and transaction info
-     * @return Updated note with PENDING status
+     * @return Updated note with PENDING status; for a resubmitted txHash, the note as it is now
      */
     @Transactional
     public Note updateNote(UpdateNoteWithTxRequest request) {
@@ -78,8 +145,24 @@ public class NotesService {
             throw new IllegalArgumentException("Request and note ID cannot be null");
         }
 
-        Note note = noteRepository.findById(request.getNoteId())
-                .orElseThrow(() -> new IllegalArgumentException("Note not found with id: " + request.getNoteId()));
+        Optional<Claim> claim = transactionHashRegistry.find(request.getTxHash());
+        if (claim.isPresent()) {
+            return getReplayedNote(claim.get(), "UPDATE", request.getNoteId());
+        }
+        return applyUpdate(request);
+    }
+
+    /**
+     * Update a note without checking for a resubmitted txHash, for callers that have already
+     * looked up the request's claim. A hash claimed in the meantime still fails the commit.
+     * @param request UpdateNoteWithTxRequest containing updated note details and transaction info
+     * @return Updated note with PENDING status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Note applyUpdate(UpdateNoteWithTxRequest request) {
+        Note note = findLiveNote(request.getNoteId());
+        String previousWalletAddress = note.getWalletAddress();
+        String previousContent = note.getContent() != null ? note.getContent() : "";
 
         // Update note fields if provided
         if (request.getTitle() != null) {
@@ -95,26 +178,36 @@ public class NotesService {
             note.setCategory(request.getCategory());
         }
 
-        // Update transaction tracking
-        note.setStatus("PENDING");
+        // Update transaction tracking; the note is managed, so dirty checking writes it at commit
+        note.setStatus(TransactionStatus.PENDING);
         note.setLastUpdatedTxHash(request.getTxHash());
+        walletDirectory.register(request.getWalletAddress());
         note.setWalletAddress(request.getWalletAddress());
 
-        Note updatedNote = noteRepository.save(note);
-
         // Create transaction record for the update
-        transactionService.createTransaction(
-            updatedNote.getId(),
+        Transaction transaction = transactionService.createTransaction(
+            note,
             request.getTxHash(),
             request.getWalletAddress(),
-            request.getMetadataJson()
+            request.getMetadataJson(),
+            "UPDATE"
         );
 
-        return updatedNote;
+        // The revision counter is written with the note's UPDATE; only the revision row is inserted
+        noteRevisionService.recordRevision(note, previousContent, transaction);
+        noteChangeService.markChanged(note);
+        if (previousWalletAddress != null && !previousWalletAddress.equals(note.getWalletAddress())) {
+            noteChangeService.recordDeletion(note.getId(), previousWalletAddress);
+        }
+        noteSuggestionService.onNoteSaved(note, previousWalletAddress);
+
+        return note;
     }
 
     /**
-     * Delete a note with transaction tracking
+     * Delete a note with transaction tracking; a resubmitted txHash is a no-op. The note is only
+     * marked deleted, so its DELETE transaction can still be confirmed; NotePurgeWorker removes
+     * the row once that has happened.
      * @param request DeleteNoteWithTxRequest containing note ID and transaction info
      */
     @Transactional
@@ -123,19 +216,38 @@ public class NotesService {
             throw new IllegalArgumentException("Request and note ID cannot be null");
         }
 
-        Note note = noteRepository.findById(request.getNoteId())
-                .orElseThrow(() -> new IllegalArgumentException("Note not found with id: " + request.getNoteId()));
+        Optional<Claim> claim = transactionHashRegistry.find(request.getTxHash());
+        if (claim.isPresent()) {
+            checkReplay(claim.get(), "DELETE", request.getNoteId());
+            return;
+        }
+        applyDelete(request);
+    }
+
+    /**
+     * Delete a note without checking for a resubmitted txHash, for callers that have already
+     * looked up the request's claim. A hash claimed in the meantime still fails the commit.
+     * @param request DeleteNoteWithTxRequest containing note ID and transaction info
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelete(DeleteNoteWithTxRequest request) {
+        Note note = findLiveNote(request.getNoteId());
+        String walletAddress = note.getWalletAddress();
 
-        // Create DELETE transaction record before deletion
+        // The DELETE transaction stays with the note for the sync worker to confirm
         transactionService.createTransaction(
-            note.getId(),
+            note,
             request.getTxHash(),
             request.getWalletAddress(),
-            request.getMetadataJson()
+            request.getMetadataJson(),
+            "DELETE"
         );
 
-        // Delete the note
-        noteRepository.deleteById(request.getNoteId());
+        // Dirty checking writes the deletion mark with the transaction tracking fields in one UPDATE
+        note.setStatus(TransactionStatus.PENDING);
+        note.setDeletedAt(LocalDateTime.now());
+        noteChangeService.recordDeletion(note.getId(), walletAddress);
+        noteSuggestionService.onNoteDeleted(walletAddress, note.getId());
     }
 
     /**
@@ -144,8 +256,46 @@ public class NotesService {
      * @return Note with transaction details
      */
     public Note getNoteById(Long id) {
-        return noteRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Note not found with id: " + id));
+        return findLiveNote(id);
+    }
+
+    /**
+     * Get several notes by ID with one IN query per chunk of IDs
+     * @param ids Note IDs (duplicates are ignored)
+     * @return Notes keyed by ID, in request order; IDs that do not exist are omitted
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Note> getNotesByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Note IDs cannot be null or empty");
+        }
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Note> found = new LinkedHashMap<>();
+        for (int start = 0; start < distinctIds.size(); start += batchChunkSize) {
+            List<Long> chunk = distinctIds.subList(start, Math.min(start + batchChunkSize, distinctIds.size()));
+            for (Note note : noteRepository.findWithTransactionsByIdIn(chunk)) {
+                found.put(note.getId(), note);
+            }
+        }
+
+        Map<Long, Note> result = new LinkedHashMap<>();
+        for (Long id : distinctIds) {
+            Note note = found.get(id);
+            if (note != null) {
+                result.put(id, note);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find which of the given note IDs exist, in one query and without loading the notes
+     * @param ids Note IDs
+     * @return IDs that exist
+     */
+    public Set<Long> getExistingNoteIds(Collection<Long> ids) {
+        return new HashSet<>(noteRepository.findExistingIds(ids));
     }
 
     /**
@@ -155,9 +305,9 @@ public class NotesService {
      */
     public List<Note> getAllNotes(String walletAddress) {
         if (walletAddress != null && !walletAddress.isEmpty()) {
-            return noteRepository.findByWalletAddressOrderByCreatedAtDesc(walletAddress);
+            return noteRepository.findByWalletAddressAndDeletedAtIsNullOrderByCreatedAtDesc(walletAddress);
         }
-        return noteRepository.findAllByOrderByCreatedAtDesc();
+        return noteRepository.findByDeletedAtIsNullOrderByCreatedAtDesc();
     }
 
     /**
@@ -171,11 +321,84 @@ public class NotesService {
             throw new IllegalArgumentException("Status cannot be null or empty");
         }
         
+        TransactionStatus transactionStatus = TransactionStatus.fromName(status);
         if (walletAddress != null && !walletAddress.isEmpty()) {
-            return noteRepository.findByStatusAndWalletAddress(status, walletAddress);
+            return noteRepository.findByStatusAndWalletAddressAndDeletedAtIsNull(transactionStatus, walletAddress);
         }
         
-        return noteRepository.findByStatus(status);
+        return noteRepository.findByStatusAndDeletedAtIsNull(transactionStatus);
+    }
+
+    /**
+     * Get notes changed or deleted in a wallet since a version cursor
+     * @param walletAddress Wallet address
+     * @param since Cursor from the previous sync (0 for a full load)
+     * @return Changed notes, deleted note IDs and the new cursor
+     */
+    public NoteChangesResponse getChangesSince(String walletAddress, long since) {
+        return noteChangeService.getChangesSince(walletAddress, since);
+    }
+
+    /**
+     * List the revisions of a note, newest first
+     * @param id Note ID
+     * @return Revisions with the content change each made
+     */
+    public List<NoteRevisionResponse> getRevisions(Long id) {
+        findLiveNote(id);
+        return noteRevisionService.getRevisions(id);
+    }
+
+    /**
+     * Materialize one revision of a note
+     * @param id Note ID
+     * @param revision Revision number
+     * @return The revision with its full content
+     */
+    public NoteRevisionResponse getRevision(Long id, Integer revision) {
+        findLiveNote(id);
+        return noteRevisionService.getRevision(id, revision);
+    }
+
+    /**
+     * Get a cheap version tag for note lists, for conditional requests
+     * @param walletAddress Wallet address the list is filtered by (optional)
+     * @return Version tag that changes whenever the listed notes change
+     */
+    public String getNotesVersionTag(String walletAddress) {
+        return noteChangeService.getVersionTag(walletAddress);
+    }
+
+    /**
+     * Update a note's status after its transaction settles, bumping its change version
+     * only if something actually changed
+     * @param noteId The note ID
+     * @param status The new status
+     * @return true if the note exists
+     */
+    @Transactional
+    public boolean updateNoteStatus(Long noteId, TransactionStatus status) {
+        Note note = noteRepository.findById(noteId).orElse(null);
+        if (note == null) {
+            return false;
+        }
+
+        // Set onChain flag if confirmed, clear it if failed
+        Boolean onChain = note.getOnChain();
+        if (status == TransactionStatus.CONFIRMED) {
+            onChain = true;
+        } else if (status == TransactionStatus.FAILED) {
+            onChain = false;
+        }
+
+        if (status == note.getStatus() && onChain.equals(note.getOnChain())) {
+            return true;
+        }
+
+        note.setStatus(status);
+        note.setOnChain(onChain);
+        noteChangeService.markChanged(note);
+        return true;
     }
 
     // Legacy methods for backward compatibility
@@ -196,10 +419,28 @@ public class NotesService {
      */
     @Transactional
     public Note togglePinStatus(Long id) {
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Note not found with id: " + id));
-        note.setPinned(!note.isPinned());
-        return noteRepository.save(note);
+        Note note = findLiveNote(id);
+
+        // Flip the flag in the database rather than writing back a value computed from this read,
+        // so two concurrent toggles flip it twice instead of one failing its version check
+        Long changeVersion = noteChangeService.nextChangeVersion(note.getWalletAddress());
+        if (noteRepository.togglePinned(id, changeVersion, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Note not found with id: " + id);
+        }
+        // The managed copy still holds the old row; reload it instead of dirtying it
+        entityManager.refresh(note);
+        return note;
+    }
+
+    /**
+     * Suggest notes for title autocomplete from the in-memory index
+     * @param walletAddress Wallet address owning the notes
+     * @param query Prefix typed by the user
+     * @param limit Maximum number of suggestions (optional)
+     * @return List of suggestions
+     */
+    public List<NoteSuggestionResponse> suggestNotes(String walletAddress, String query, Integer limit) {
+        return noteSuggestionService.suggest(walletAddress, query, limit);
     }
 
     /**
@@ -207,6 +448,7 @@ public class NotesService {
      * @param note Note entity
      * @return Created note
      */
+    @Transactional
     public Note createNoteSimple(Note note) {
         if (note == null) {
             throw new IllegalArgumentException("Note cannot be null");
@@ -217,17 +459,91 @@ public class NotesService {
         if (note.getContent() == null) {
             note.setContent("");
         }
-        return noteRepository.save(note);
+        noteChangeService.markChanged(note);
+        Note savedNote = noteRepository.save(note);
+        noteSuggestionService.onNoteSaved(savedNote, null);
+        return savedNote;
     }
 
     /**
-     * Simple delete note without transaction tracking (for testing or internal use)
+     * Simple delete note without transaction tracking (for testing or internal use); the note is
+     * marked deleted and purged later like any other
      * @param id Note ID
      */
+    @Transactional
     public void deleteNoteSimple(Long id) {
-        if (!noteRepository.existsById(id)) {
-            throw new IllegalArgumentException("Note not found with id: " + id);
+        Note note = findLiveNote(id);
+        note.setDeletedAt(LocalDateTime.now());
+        noteChangeService.recordDeletion(id, note.getWalletAddress());
+        noteSuggestionService.onNoteDeleted(note.getWalletAddress(), id);
+    }
+
+    /**
+     * Find deleted notes that are ready to be purged: deleted before the cutoff, with no
+     * transaction still being synced and no DELETE transaction left unconfirmed
+     * @param cutoff Only notes deleted before this time
+     * @param limit Maximum number of notes
+     * @return Note IDs, oldest deletions first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findPurgeableNoteIds(LocalDateTime cutoff, int limit) {
+        return noteRepository.findPurgeableIds(cutoff, TransactionStatus.CONFIRMED,
+            TransactionStatus.PENDING_STATES, Limit.of(limit));
+    }
+
+    /**
+     * Hard-delete deleted notes with their transactions and revisions in one database transaction
+     * @param noteIds IDs returned by findPurgeableNoteIds
+     * @return Number of notes removed
+     */
+    @Transactional
+    public int purgeDeletedNotes(List<Long> noteIds) {
+        if (noteIds.isEmpty()) {
+            return 0;
+        }
+        transactionService.deleteTransactionsByNoteIds(noteIds);
+        noteRevisionService.deleteRevisions(noteIds);
+        return noteRepository.deleteDeletedByIdIn(noteIds);
+    }
+
+    /**
+     * Answer a resubmitted create or update with the note its original request wrote
+     * @param claim The claim on the request's transaction hash
+     * @param operationType The requested operation
+     * @param noteId The requested note, or null for CREATE
+     * @return The note
+     * @throws DuplicateKeyException if the hash was used for another operation or the note is gone
+     */
+    private Note getReplayedNote(Claim claim, String operationType, Long noteId) {
+        checkReplay(claim, operationType, noteId);
+        return noteRepository.findById(claim.noteId())
+                .filter(note -> !note.isDeleted())
+                .orElseThrow(() -> new DuplicateKeyException(
+                    "Transaction hash was used for note " + claim.noteId() + ", which no longer exists: " + claim.txHash()));
+    }
+
+    /**
+     * Load a note, treating one that is marked deleted as missing
+     * @param id Note ID
+     * @return The note
+     * @throws IllegalArgumentException if the note does not exist or is deleted
+     */
+    private Note findLiveNote(Long id) {
+        return noteRepository.findById(id)
+                .filter(note -> !note.isDeleted())
+                .orElseThrow(() -> new IllegalArgumentException("Note not found with id: " + id));
+    }
+
+    /**
+     * Reject a transaction hash that was already used for a different operation or note
+     * @param claim The claim on the request's transaction hash
+     * @param operationType The requested operation
+     * @param noteId The requested note, or null for CREATE
+     * @throws DuplicateKeyException if the request is not a resubmission of the original
+     */
+    private void checkReplay(Claim claim, String operationType, Long noteId) {
+        if (!claim.matches(operationType, noteId)) {
+            throw new DuplicateKeyException("Transaction hash already submitted for another operation: " + claim.txHash());
         }
-        noteRepository.deleteById(id);
     }
-}
\ No newline at end of file
+}
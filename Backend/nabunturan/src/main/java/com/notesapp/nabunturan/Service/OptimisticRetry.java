@@ -0,0 +1,67 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Re-runs a write transaction that lost an optimistic-lock race, so contended notes and
+ * transactions are re-read instead of locked up front. Every conflict is counted in the
+ * notesapp.optimistic.conflicts metric, tagged by operation and by whether it was retried.
+ */
+@Service
+public class OptimisticRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${optimistic-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    public OptimisticRetry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run an operation, starting it again on an optimistic-lock conflict
+     * @param operation Operation name, used as the metric tag
+     * @param action The operation; it must start and commit its own transaction
+     * @return The operation's result
+     * @throws OptimisticLockingFailureException if the last attempt also conflicted
+     */
+    public <T> T run(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                boolean retry = attempt < maxAttempts;
+                meterRegistry.counter("notesapp.optimistic.conflicts",
+                    "operation", operation, "outcome", retry ? "retried" : "failed").increment();
+                if (!retry) {
+                    throw e;
+                }
+                logger.debug("Optimistic lock conflict in {} (attempt {}), retrying", operation, attempt);
+            }
+        }
+    }
+
+    /**
+     * Run an operation without a result, starting it again on an optimistic-lock conflict
+     * @param operation Operation name, used as the metric tag
+     * @param action The operation; it must start and commit its own transaction
+     * @throws OptimisticLockingFailureException if the last attempt also conflicted
+     */
+    public void run(String operation, Runnable action) {
+        run(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+import com.notesapp.nabunturan.Repository.TransactionRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory count of unsettled (PENDING, SUBMITTED, PROCESSING) transactions across all wallets.
+ * Committed transitions adjust it as they happen and the sync worker re-counts it every cycle
+ * (correcting any drift from a transition racing a re-count), so the global pending count
+ * never has to touch the database.
+ */
+@Service
+public class PendingTransactionGauge {
+
+    private final TransactionRepository transactionRepository;
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private volatile boolean initialized = false;
+
+    public PendingTransactionGauge(TransactionRepository transactionRepository, MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+
+        Gauge.builder("notesapp.transactions.pending", this, PendingTransactionGauge::getPendingCount)
+            .description("Transactions not yet confirmed or failed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the global pending count, counting once if the gauge has not been loaded yet
+     * @return Number of unsettled transactions
+     */
+    public long getPendingCount() {
+        if (!initialized) {
+            refresh();
+        }
+        return Math.max(0, pendingCount.get());
+    }
+
+    /**
+     * Replace the in-memory value with an exact count, correcting any drift
+     */
+    public synchronized void refresh() {
+        pendingCount.set(transactionRepository.countByStatusIn(TransactionStatus.PENDING_STATES));
+        initialized = true;
+    }
+
+    /**
+     * Apply a change in the number of unsettled transactions once the surrounding transaction commits
+     * @param delta Change in pending count
+     */
+    public void adjust(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            if (initialized) {
+                pendingCount.addAndGet(delta);
+            }
+        });
+    }
+}
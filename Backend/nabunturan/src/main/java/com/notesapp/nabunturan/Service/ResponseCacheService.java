@@ -0,0 +1,249 @@
+package com.notesapp.nabunturan.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded cache of fully serialized (and, above a size threshold, pre-gzipped) list responses,
+ * keyed by endpoint, wallet, filter and the wallet's data version. A version bump makes old
+ * entries unreachable; NoteChangeService also evicts a wallet's entries after each commit.
+ */
+@Service
+public class ResponseCacheService {
+
+    private static final String GLOBAL_WALLET = "";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${response-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<Key>> keysByWallet = new LinkedHashMap<>();
+    private long usedBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ResponseCacheService(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+
+        FunctionCounter.builder("notesapp.response.cache.hits", hits, AtomicLong::get)
+            .description("Serialized responses served from cache")
+            .register(meterRegistry);
+        FunctionCounter.builder("notesapp.response.cache.misses", misses, AtomicLong::get)
+            .description("Serialized responses built on a cache miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("notesapp.response.cache.evictions", evictions, AtomicLong::get)
+            .description("Serialized responses evicted or invalidated")
+            .register(meterRegistry);
+        Gauge.builder("notesapp.response.cache.hit.ratio", this, ResponseCacheService::getHitRatio)
+            .description("Fraction of lookups served from cache")
+            .register(meterRegistry);
+        Gauge.builder("notesapp.response.cache.bytes", this, ResponseCacheService::getUsedBytes)
+            .description("Bytes held by cached responses")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get a serialized response from cache, building and caching it on a miss
+     * @param endpoint Endpoint name
+     * @param walletAddress Wallet the response is filtered by (optional)
+     * @param filter Remaining filter parameters, already normalized
+     * @param versionTag Data version the response reflects
+     * @param loader Builds the response body on a miss
+     * @return The cached serialized response
+     */
+    public CachedResponse getOrLoad(String endpoint, String walletAddress, String filter, String versionTag,
+                                    Supplier<Object> loader) {
+        String wallet = walletAddress != null ? walletAddress : GLOBAL_WALLET;
+        Key key = new Key(endpoint, wallet, filter, versionTag);
+
+        synchronized (this) {
+            CachedResponse cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        // Build outside the lock; concurrent misses for the same key produce identical bytes
+        CachedResponse built = serialize(loader.get());
+        synchronized (this) {
+            CachedResponse previous = entries.put(key, built);
+            if (previous != null) {
+                usedBytes -= previous.size();
+            }
+            usedBytes += built.size();
+            keysByWallet.computeIfAbsent(wallet, w -> new HashSet<>()).add(key);
+            evictIfNeeded();
+        }
+        return built;
+    }
+
+    /**
+     * Write a cached response, gzipped if the client accepts it
+     * @param cached The cached response
+     * @param etag ETag for the response
+     * @param webRequest Current request, used for Accept-Encoding
+     * @return Response entity with raw JSON bytes
+     */
+    public ResponseEntity<byte[]> toResponseEntity(CachedResponse cached, String etag, WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = cached.getGzipped() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return builder.body(cached.getGzipped());
+        }
+        return builder.body(cached.getJson());
+    }
+
+    /**
+     * Drop every cached response for a wallet, and the unfiltered lists that include it
+     * @param walletAddress The wallet address
+     */
+    public synchronized void invalidateWallet(String walletAddress) {
+        if (walletAddress != null) {
+            removeKeys(keysByWallet.remove(walletAddress));
+        }
+        removeKeys(keysByWallet.remove(GLOBAL_WALLET));
+    }
+
+    /**
+     * Get the fraction of lookups served from cache
+     * @return Hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Get the bytes currently held by cached responses
+     * @return Used bytes
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private CachedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzipped = json.length >= gzipMinBytes ? gzip(json) : null;
+            return new CachedResponse(json, gzipped);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void removeKeys(Set<Key> keys) {
+        if (keys == null) {
+            return;
+        }
+        for (Key key : keys) {
+            CachedResponse removed = entries.remove(key);
+            if (removed != null) {
+                usedBytes -= removed.size();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        var iterator = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Key, CachedResponse> eldest = iterator.next();
+            usedBytes -= eldest.getValue().size();
+            iterator.remove();
+            evictions.incrementAndGet();
+
+            String wallet = eldest.getKey().wallet();
+            Set<Key> walletKeys = keysByWallet.get(wallet);
+            if (walletKeys != null) {
+                walletKeys.remove(eldest.getKey());
+                if (walletKeys.isEmpty()) {
+                    keysByWallet.remove(wallet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Identity of a cached response; the wallet is empty for unfiltered lists
+     */
+    private record Key(String endpoint, String wallet, String filter, String versionTag) {}
+
+    /**
+     * Serialized JSON body with an optional gzipped copy
+     */
+    public static final class CachedResponse {
+
+        private final byte[] json;
+        private final byte[] gzipped;
+
+        CachedResponse(byte[] json, byte[] gzipped) {
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzipped() {
+            return gzipped;
+        }
+
+        long size() {
+            return json.length + (gzipped != null ? gzipped.length : 0) + 128L;
+        }
+    }
+}
@@ -0,0 +1,608 @@
+package com.notesapp.nabunturan.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+
+/**
+ * Append-only cold storage for settled transactions moved out of MySQL. Each archiver run writes
+ * one immutable segment: a data file of deflate-compressed blocks of records sorted by tx hash,
+ * and an index file holding the first and last hash of every block (a sparse hash index), a Bloom
+ * filter over the segment's hashes, and the blocks that contain each wallet and each note. Index
+ * files are loaded into memory and data files are memory-mapped, so a lookup inflates only the
+ * blocks that can hold the key, and a hash lookup skips segments the filter rules out.
+ */
+@Service
+public class TransactionArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchive.class);
+
+    private static final int FORMAT_VERSION = 2;
+    private static final String DATA_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // Hashless records sort after every hash and can only be found by note or wallet
+    private static final Comparator<Transaction> BY_HASH = Comparator.comparing(
+        Transaction::getTxHash, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Value("${archive.directory:data/transaction-archive}")
+    private String directory;
+
+    @Value("${archive.block-records:256}")
+    private int blockRecords;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private volatile boolean loaded = false;
+    private long nextSequence = 1;
+
+    /**
+     * Write transactions to a new segment; it becomes readable once both files are durable
+     * @param transactions Settled transactions, their notes' IDs available without loading the notes
+     */
+    public synchronized void writeSegment(List<Transaction> transactions) {
+        ensureLoaded();
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        List<Transaction> sorted = new ArrayList<>(transactions);
+        sorted.sort(BY_HASH);
+
+        String name = String.format("segment-%012d", nextSequence);
+        Path dataFile = Path.of(directory, name + DATA_SUFFIX);
+        Path indexFile = Path.of(directory, name + INDEX_SUFFIX);
+        Path dataTemp = Path.of(directory, name + DATA_SUFFIX + TEMP_SUFFIX);
+        Path indexTemp = Path.of(directory, name + INDEX_SUFFIX + TEMP_SUFFIX);
+
+        try {
+            Files.createDirectories(dataFile.getParent());
+            List<Block> blocks = new ArrayList<>();
+            BloomFilter hashes = BloomFilter.create(sorted.size());
+            Map<String, TreeSet<Integer>> blocksByWallet = new TreeMap<>();
+            Map<Long, TreeSet<Integer>> blocksByNote = new TreeMap<>();
+
+            try (FileChannel channel = FileChannel.open(dataTemp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long offset = 0;
+                for (int start = 0; start < sorted.size(); start += blockRecords) {
+                    List<Transaction> records = sorted.subList(start, Math.min(start + blockRecords, sorted.size()));
+                    int blockNumber = blocks.size();
+                    String lastHash = null;
+
+                    ByteArrayOutputStream raw = new ByteArrayOutputStream();
+                    try (DataOutputStream out = new DataOutputStream(raw)) {
+                        out.writeInt(records.size());
+                        for (Transaction transaction : records) {
+                            writeRecord(out, transaction);
+                            if (transaction.getTxHash() != null) {
+                                hashes.add(transaction.getTxHash());
+                                lastHash = transaction.getTxHash();
+                            }
+                            if (transaction.getWalletAddress() != null) {
+                                blocksByWallet.computeIfAbsent(transaction.getWalletAddress(), key -> new TreeSet<>())
+                                    .add(blockNumber);
+                            }
+                            blocksByNote.computeIfAbsent(transaction.getNote().getId(), key -> new TreeSet<>())
+                                .add(blockNumber);
+                        }
+                    }
+                    byte[] compressed = deflate(raw.toByteArray());
+                    // Blocks are read through a single mapping of the data file, which int offsets address
+                    if (offset + compressed.length > Integer.MAX_VALUE) {
+                        throw new IOException("Segment would exceed 2 GB; lower archive.batch-size");
+                    }
+                    channel.write(ByteBuffer.wrap(compressed));
+                    blocks.add(new Block(offset, compressed.length, raw.size(), records.get(0).getTxHash(), lastHash));
+                    offset += compressed.length;
+                }
+                channel.force(true);
+            }
+
+            try (FileChannel channel = FileChannel.open(indexTemp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(encodeIndex(blocks, hashes, blocksByWallet, blocksByNote)));
+                channel.force(true);
+            }
+
+            // The index is published last: a segment without one is ignored, and rewritten by the next run
+            Files.move(dataTemp, dataFile, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(indexTemp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+
+            segments.add(openSegment(dataFile, indexFile));
+            nextSequence++;
+            logger.info("Archived {} transactions into {} ({} blocks)", sorted.size(), name, blocks.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment " + name, e);
+        } finally {
+            // Both are gone once published; after a failure the next run starts the segment over
+            deleteQuietly(dataTemp);
+            deleteQuietly(indexTemp);
+        }
+    }
+
+    /**
+     * Check whether a transaction is already archived as it is now, so a batch left in the database
+     * by a failed delete is not written to another segment
+     * @param transaction The transaction
+     * @return true if the newest archived copy has the same ID and status
+     */
+    public boolean contains(Transaction transaction) {
+        Optional<Transaction> archived = transaction.getTxHash() != null
+            ? findByTxHash(transaction.getTxHash())
+            : findByNoteId(transaction.getNote().getId()).stream()
+                .filter(candidate -> candidate.getId().equals(transaction.getId()))
+                .findFirst();
+        return archived
+            .filter(candidate -> candidate.getId().equals(transaction.getId())
+                && candidate.getStatus() == transaction.getStatus())
+            .isPresent();
+    }
+
+    /**
+     * Find an archived transaction by hash
+     * @param txHash The transaction hash
+     * @return The archived transaction, its note holding only the note ID
+     */
+    public Optional<Transaction> findByTxHash(String txHash) {
+        ensureLoaded();
+        // Newest segment first: a transaction archived twice is read from its latest copy
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            if (!segment.hashes.mightContain(txHash)) {
+                continue;
+            }
+            int block = blockForHash(segment.blocks, txHash);
+            if (block < 0) {
+                continue;
+            }
+            for (Transaction transaction : segment.readBlock(block)) {
+                if (txHash.equals(transaction.getTxHash())) {
+                    return Optional.of(transaction);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find archived transactions of a note
+     * @param noteId The note ID
+     * @return Archived transactions, their notes holding only the note ID
+     */
+    public List<Transaction> findByNoteId(Long noteId) {
+        ensureLoaded();
+        Map<Long, Transaction> found = new TreeMap<>();
+        for (Segment segment : segments) {
+            for (int block : segment.blocksByNote.getOrDefault(noteId, new int[0])) {
+                for (Transaction transaction : segment.readBlock(block)) {
+                    if (noteId.equals(transaction.getNote().getId())) {
+                        found.put(transaction.getId(), transaction);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    /**
+     * Find archived transactions of a wallet
+     * @param walletAddress The wallet address
+     * @return Archived transactions, their notes holding only the note ID
+     */
+    public List<Transaction> findByWalletAddress(String walletAddress) {
+        ensureLoaded();
+        Map<Long, Transaction> found = new TreeMap<>();
+        for (Segment segment : segments) {
+            for (int block : segment.blocksByWallet.getOrDefault(walletAddress, new int[0])) {
+                for (Transaction transaction : segment.readBlock(block)) {
+                    if (walletAddress.equals(transaction.getWalletAddress())) {
+                        found.put(transaction.getId(), transaction);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            Path root = Path.of(directory);
+            if (!Files.isDirectory(root)) {
+                // Nothing archived yet; the directory is created with the first segment
+                loaded = true;
+                return;
+            }
+            try {
+                List<Path> indexFiles;
+                List<Path> tempFiles;
+                try (Stream<Path> files = Files.list(root)) {
+                    List<Path> all = files.sorted().toList();
+                    indexFiles = all.stream().filter(path -> path.getFileName().toString().endsWith(INDEX_SUFFIX)).toList();
+                    tempFiles = all.stream().filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX)).toList();
+                }
+                // Left by a process that died mid-write
+                for (Path tempFile : tempFiles) {
+                    deleteQuietly(tempFile);
+                }
+                for (Path indexFile : indexFiles) {
+                    String name = indexFile.getFileName().toString();
+                    name = name.substring(0, name.length() - INDEX_SUFFIX.length());
+                    segments.add(openSegment(root.resolve(name + DATA_SUFFIX), indexFile));
+                    nextSequence = Math.max(nextSequence, Long.parseLong(name.substring("segment-".length())) + 1);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open transaction archive at " + root, e);
+            }
+            loaded = true;
+            logger.info("Opened transaction archive with {} segments", segments.size());
+        }
+    }
+
+    private static Segment openSegment(Path dataFile, Path indexFile) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(indexFile)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported archive segment format: " + indexFile);
+            }
+            Block[] blocks = new Block[in.readInt()];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = new Block(in.readLong(), in.readInt(), in.readInt(), readString(in), readString(in));
+            }
+            BloomFilter hashes = BloomFilter.read(in);
+            Map<String, int[]> blocksByWallet = new TreeMap<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                blocksByWallet.put(in.readUTF(), readInts(in));
+            }
+            Map<Long, int[]> blocksByNote = new TreeMap<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                blocksByNote.put(in.readLong(), readInts(in));
+            }
+            return new Segment(data, blocks, hashes, blocksByWallet, blocksByNote);
+        }
+    }
+
+    private static byte[] encodeIndex(List<Block> blocks, BloomFilter hashes, Map<String, TreeSet<Integer>> blocksByWallet,
+                                      Map<Long, TreeSet<Integer>> blocksByNote) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(blocks.size());
+            for (Block block : blocks) {
+                out.writeLong(block.offset);
+                out.writeInt(block.length);
+                out.writeInt(block.rawLength);
+                writeString(out, block.firstHash);
+                writeString(out, block.lastHash);
+            }
+            hashes.write(out);
+            out.writeInt(blocksByWallet.size());
+            for (Map.Entry<String, TreeSet<Integer>> entry : blocksByWallet.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeInts(out, entry.getValue());
+            }
+            out.writeInt(blocksByNote.size());
+            for (Map.Entry<Long, TreeSet<Integer>> entry : blocksByNote.entrySet()) {
+                out.writeLong(entry.getKey());
+                writeInts(out, entry.getValue());
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete archive file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, Transaction transaction) throws IOException {
+        out.writeLong(transaction.getId());
+        out.writeLong(transaction.getNote().getId());
+        writeString(out, transaction.getTxHash());
+        out.writeByte(transaction.getStatus().getCode());
+        writeString(out, transaction.getWalletAddress());
+        writeString(out, transaction.getMetadataJson());
+        writeString(out, transaction.getOperationType());
+        out.writeLong(transaction.getBlockHeight() != null ? transaction.getBlockHeight() : -1);
+        writeTime(out, transaction.getBlockTime());
+        writeTime(out, transaction.getCreatedAt());
+        writeTime(out, transaction.getConfirmedAt());
+        writeTime(out, transaction.getLastCheckedAt());
+        out.writeInt(transaction.getRetryCount() != null ? transaction.getRetryCount() : 0);
+        writeString(out, transaction.getErrorMessage());
+    }
+
+    private static Transaction readRecord(DataInputStream in) throws IOException {
+        Transaction transaction = new Transaction();
+        transaction.setId(in.readLong());
+        Note note = new Note();
+        note.setId(in.readLong());
+        transaction.setNote(note);
+        transaction.setTxHash(readString(in));
+        transaction.setStatus(TransactionStatus.fromCode(in.readByte()));
+        transaction.setWalletAddress(readString(in));
+        transaction.setMetadataJson(readString(in));
+        transaction.setOperationType(readString(in));
+        long blockHeight = in.readLong();
+        transaction.setBlockHeight(blockHeight >= 0 ? blockHeight : null);
+        transaction.setBlockTime(readTime(in));
+        transaction.setCreatedAt(readTime(in));
+        transaction.setConfirmedAt(readTime(in));
+        transaction.setLastCheckedAt(readTime(in));
+        transaction.setRetryCount(in.readInt());
+        transaction.setErrorMessage(readString(in));
+        return transaction;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeInts(DataOutputStream out, TreeSet<Integer> values) throws IOException {
+        out.writeInt(values.size());
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Binary search a segment's sparse index for the last block starting at or before the hash,
+     * skipping it when the hash sorts after the block's last hash
+     * @param blocks The segment's blocks, in hash order with hashless blocks last
+     * @param txHash The transaction hash
+     * @return Block number, or -1 if no block can hold the hash
+     */
+    static int blockForHash(Block[] blocks, String txHash) {
+        int low = 0;
+        int high = blocks.length - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            String firstHash = blocks[mid].firstHash();
+            if (firstHash != null && firstHash.compareTo(txHash) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate >= 0 && blocks[candidate].lastHash().compareTo(txHash) < 0) {
+            return -1;
+        }
+        return candidate;
+    }
+
+    /**
+     * Location of one compressed block in a data file, with the first and last tx hash it holds
+     * (both null if the block holds only hashless records)
+     */
+    record Block(long offset, int length, int rawLength, String firstHash, String lastHash) {}
+
+    /**
+     * Bloom filter over a segment's tx hashes, about 1% false positives at 10 bits per hash.
+     * Probe positions come from double hashing a 64-bit FNV-1a hash of the UTF-8 bytes.
+     */
+    static final class BloomFilter {
+
+        private static final int BITS_PER_HASH = 10;
+        private static final int PROBES = 7;
+
+        private final long[] bits;
+        private final int probes;
+
+        private BloomFilter(long[] bits, int probes) {
+            this.bits = bits;
+            this.probes = probes;
+        }
+
+        static BloomFilter create(int expectedHashes) {
+            long bitCount = Math.max(64L, (long) expectedHashes * BITS_PER_HASH);
+            return new BloomFilter(new long[(int) ((bitCount + 63) / 64)], PROBES);
+        }
+
+        static BloomFilter read(DataInputStream in) throws IOException {
+            int probes = in.readInt();
+            long[] bits = new long[in.readInt()];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = in.readLong();
+            }
+            return new BloomFilter(bits, probes);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(probes);
+            out.writeInt(bits.length);
+            for (long word : bits) {
+                out.writeLong(word);
+            }
+        }
+
+        void add(String value) {
+            long hash = fnv1a(value);
+            long step = mix(hash) | 1;
+            long bitCount = (long) bits.length * 64;
+            for (int i = 0; i < probes; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = fnv1a(value);
+            long step = mix(hash) | 1;
+            long bitCount = (long) bits.length * 64;
+            for (int i = 0; i < probes; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long fnv1a(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // SplitMix64 finalizer, so the second hash is independent enough of the first
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+            return value ^ (value >>> 31);
+        }
+    }
+
+    /**
+     * An open segment: its memory-mapped data file and in-memory index
+     */
+    private static final class Segment {
+
+        private final MappedByteBuffer data;
+        private final Block[] blocks;
+        private final BloomFilter hashes;
+        private final Map<String, int[]> blocksByWallet;
+        private final Map<Long, int[]> blocksByNote;
+
+        Segment(MappedByteBuffer data, Block[] blocks, BloomFilter hashes,
+                Map<String, int[]> blocksByWallet, Map<Long, int[]> blocksByNote) {
+            this.data = data;
+            this.blocks = blocks;
+            this.hashes = hashes;
+            this.blocksByWallet = blocksByWallet;
+            this.blocksByNote = blocksByNote;
+        }
+
+        List<Transaction> readBlock(int number) {
+            Block block = blocks[number];
+            ByteBuffer compressed = data.slice((int) block.offset(), block.length());
+            byte[] raw = new byte[block.rawLength()];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                int read = 0;
+                while (read < raw.length && !inflater.finished()) {
+                    read += inflater.inflate(raw, read, raw.length - read);
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt archive block " + number, e);
+            } finally {
+                inflater.end();
+            }
+
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+                int count = in.readInt();
+                List<Transaction> transactions = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    transactions.add(readRecord(in));
+                }
+                return transactions;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-transaction state, such as ids already resolved or writes collected so that repeated
+ * changes to the same rows become one statement just before commit. The state is dropped when
+ * the transaction completes, whether it commits or rolls back.
+ */
+final class TransactionScoped {
+
+    // Order of before-commit work. The global version stripe is last, after the session flush,
+    // so it is always the final row lock a transaction takes.
+    static final int CLAIMS = 0;
+    static final int COUNTERS = 1;
+    static final int GLOBAL_VERSION = 2;
+
+    private TransactionScoped() {}
+
+    /**
+     * Get the current transaction's value for a key, creating it on first use
+     * @param key Identity of the value within the transaction
+     * @param initial Creates the value
+     * @return The transaction's value
+     */
+    static <T> T get(Object key, Supplier<T> initial) {
+        return get(key, initial, 0, null);
+    }
+
+    /**
+     * Get the current transaction's value for a key, creating it on first use and handing it to
+     * beforeCommit once the transaction is about to commit
+     * @param key Identity of the value within the transaction
+     * @param initial Creates the value
+     * @param order Position of beforeCommit among the other before-commit work
+     * @param beforeCommit Writes the collected value (optional)
+     * @return The transaction's value
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(Object key, Supplier<T> initial, int order, Consumer<T> beforeCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("No transaction is active");
+        }
+        T value = (T) TransactionSynchronizationManager.getResource(key);
+        if (value != null) {
+            return value;
+        }
+
+        T created = initial.get();
+        TransactionSynchronizationManager.bindResource(key, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return order;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (beforeCommit != null) {
+                    beforeCommit.accept(created);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+        });
+        return created;
+    }
+}
@@ -1,19 +1,41 @@
 package com.notesapp.nabunturan.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.notesapp.nabunturan.DTO.TransactionHistoryResponse;
+import com.notesapp.nabunturan.DTO.TransactionPageResponse;
 import com.notesapp.nabunturan.Entity.Note;
 import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+import com.notesapp.nabunturan.Exception.InvalidTransactionStatusException;
 import com.notesapp.nabunturan.Repository.NoteRepository;
+import com.notesapp.nabunturan.Repository.TransactionHashRegistry;
+import com.notesapp.nabunturan.Repository.TransactionHashRegistry.Claim;
+import com.notesapp.nabunturan.Repository.TransactionMetadataRepository;
 import com.notesapp.nabunturan.Repository.TransactionRepository;
+import com.notesapp.nabunturan.Validator.MetadataJsonValidator;
 
 @Service
 public class TransactionService {
@@ -24,35 +46,71 @@ public class TransactionService {
     @Autowired
     private NoteRepository noteRepository;
 
+    @Autowired
+    private TransactionHashRegistry transactionHashRegistry;
+
+    @Autowired
+    private TransactionMetadataRepository transactionMetadataRepository;
+
+    @Autowired
+    private NoteEventService noteEventService;
+
+    @Autowired
+    private NoteChangeService noteChangeService;
+
+    @Autowired
+    private TransactionStatsService transactionStatsService;
+
+    @Autowired
+    private PendingTransactionGauge pendingTransactionGauge;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private WalletDirectory walletDirectory;
+
+    @Value("${batch-get.chunk-size:500}")
+    private int batchChunkSize;
+
+    // Transaction resource collecting the hash claims to insert at commit
+    private final Object pendingClaimsKey = new Object();
+
     /**
      * Create a new transaction for a note
-     * @param noteId The ID of the note
+     * @param note The note, managed by the current persistence context
      * @param txHash The transaction hash
      * @param walletAddress The wallet address
-     * @param metadataJson The metadata in JSON format
+     * @param metadataJson The metadata in JSON format, stored canonicalized
+     * @param operationType The note operation (CREATE, UPDATE, DELETE)
      * @return The created transaction
      */
     @Transactional
-    public Transaction createTransaction(Long noteId, String txHash, String walletAddress, String metadataJson) {
-        Note note = noteRepository.findById(noteId)
-                .orElseThrow(() -> new RuntimeException("Note not found with id: " + noteId));
+    public Transaction createTransaction(Note note, String txHash, String walletAddress, String metadataJson,
+                                         String operationType) {
+        walletDirectory.register(walletAddress);
 
         Transaction transaction = new Transaction();
         transaction.setNote(note);
         transaction.setTxHash(txHash);
-        transaction.setStatus("PENDING");
+        transaction.setStatus(TransactionStatus.PENDING);
         transaction.setWalletAddress(walletAddress);
-        transaction.setMetadataJson(metadataJson);
+        transaction.setMetadataJson(MetadataJsonValidator.canonicalize(metadataJson));
+        transaction.setOperationType(operationType);
         transaction.setRetryCount(0);
         transaction.setLastCheckedAt(LocalDateTime.now());
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        if (txHash != null) {
+            // Claimed in one batch at commit; a hash that was already submitted rolls back the whole operation
+            pendingClaims().add(new Claim(txHash, savedTransaction.getId(), note.getId(), operationType));
+        }
+        transactionStatsService.recordCreated(savedTransaction);
         
-        // Update note's transaction hash
+        // Update note's transaction hash; the note is managed, so dirty checking writes it
         note.setTxHash(txHash);
         note.setWalletAddress(walletAddress);
         note.setLastUpdatedTxHash(txHash);
-        noteRepository.save(note);
 
         return savedTransaction;
     }
@@ -64,11 +122,15 @@ public class TransactionService {
      * @param blockHeight The block height (optional)
      * @param blockTime The block time (optional)
      * @return The updated transaction
+     * @throws InvalidTransactionStatusException if the current status cannot move to the new one
      */
     @Transactional
-    public Transaction updateTransactionStatus(String txHash, String status, Long blockHeight, LocalDateTime blockTime) {
+    public Transaction updateTransactionStatus(String txHash, TransactionStatus status, Long blockHeight,
+                                               LocalDateTime blockTime) {
         Transaction transaction = transactionRepository.findByTxHash(txHash)
                 .orElseThrow(() -> new RuntimeException("Transaction not found with hash: " + txHash));
+        TransactionStatus previousStatus = transaction.getStatus();
+        checkTransition(transaction, status);
 
         transaction.setStatus(status);
         transaction.setLastCheckedAt(LocalDateTime.now());
@@ -82,19 +144,23 @@ public class TransactionService {
         }
 
         // If status is CONFIRMED, set confirmed timestamp
-        if ("CONFIRMED".equalsIgnoreCase(status)) {
+        if (status == TransactionStatus.CONFIRMED) {
             transaction.setConfirmedAt(LocalDateTime.now());
             
             // Update the associated note status
             Note note = transaction.getNote();
             if (note != null) {
-                note.setStatus("CONFIRMED");
+                note.setStatus(TransactionStatus.CONFIRMED);
                 note.setOnChain(true);
-                noteRepository.save(note);
             }
         }
 
-        return transactionRepository.save(transaction);
+        // The note's transaction breakdown changes with any status, not only CONFIRMED
+        transactionStatsService.recordTransition(transaction, previousStatus);
+        markWalletsChanged(transaction);
+
+        noteEventService.publish("STATUS_CHANGED", transaction);
+        return transaction;
     }
 
     /**
@@ -104,16 +170,54 @@ public class TransactionService {
      */
     public Transaction getTransactionByHash(String txHash) {
         return transactionRepository.findByTxHash(txHash)
+                .or(() -> transactionArchive.findByTxHash(txHash).map(this::attachNote))
                 .orElseThrow(() -> new RuntimeException("Transaction not found with hash: " + txHash));
     }
 
+    /**
+     * Get several transactions by hash with one IN query per chunk of hashes
+     * @param txHashes Transaction hashes (duplicates are ignored)
+     * @return Transactions keyed by hash, in request order; unknown hashes are omitted
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Transaction> getTransactionsByTxHashes(Collection<String> txHashes) {
+        if (txHashes == null || txHashes.isEmpty()) {
+            throw new IllegalArgumentException("Transaction hashes cannot be null or empty");
+        }
+
+        List<String> distinctHashes = new ArrayList<>(new LinkedHashSet<>(txHashes));
+        Map<String, Transaction> found = new LinkedHashMap<>();
+        for (int start = 0; start < distinctHashes.size(); start += batchChunkSize) {
+            List<String> chunk = distinctHashes.subList(start, Math.min(start + batchChunkSize, distinctHashes.size()));
+            for (Transaction transaction : transactionRepository.findByTxHashIn(chunk)) {
+                found.put(transaction.getTxHash(), transaction);
+            }
+        }
+
+        Map<String, Transaction> result = new LinkedHashMap<>();
+        for (String txHash : distinctHashes) {
+            Transaction transaction = found.get(txHash);
+            if (transaction != null) {
+                result.put(txHash, transaction);
+            }
+        }
+        return result;
+    }
+
     /**
      * Get all transactions for a specific note
      * @param noteId The note ID
      * @return List of transactions
      */
     public List<Transaction> getTransactionsByNoteId(Long noteId) {
-        return transactionRepository.findByNoteId(noteId);
+        List<Transaction> transactions = transactionRepository.findByNoteId(noteId);
+        List<Transaction> archived = transactionArchive.findByNoteId(noteId);
+        if (archived.isEmpty()) {
+            return transactions;
+        }
+        Note note = noteRepository.findById(noteId).orElse(null);
+        archived.forEach(transaction -> transaction.setNote(note));
+        return mergeArchived(transactions, archived);
     }
 
     /**
@@ -135,7 +239,7 @@ public class TransactionService {
      * @return List of pending transactions
      */
     public List<Transaction> getPendingTransactions() {
-        return transactionRepository.findPendingTransactions();
+        return transactionRepository.findByStatusInOrderByCreatedAtAsc(TransactionStatus.PENDING_STATES);
     }
 
     /**
@@ -143,42 +247,50 @@ public class TransactionService {
      * @param txHash The transaction hash
      * @param errorMessage The error message
      * @return The updated transaction
+     * @throws InvalidTransactionStatusException if the transaction is already confirmed
      */
     @Transactional
     public Transaction markTransactionAsFailed(String txHash, String errorMessage) {
         Transaction transaction = transactionRepository.findByTxHash(txHash)
                 .orElseThrow(() -> new RuntimeException("Transaction not found with hash: " + txHash));
+        TransactionStatus previousStatus = transaction.getStatus();
+        checkTransition(transaction, TransactionStatus.FAILED);
 
-        transaction.setStatus("FAILED");
+        transaction.setStatus(TransactionStatus.FAILED);
         transaction.setErrorMessage(errorMessage);
         transaction.setLastCheckedAt(LocalDateTime.now());
 
         // Update the associated note status
         Note note = transaction.getNote();
         if (note != null) {
-            note.setStatus("FAILED");
-            noteRepository.save(note);
+            note.setStatus(TransactionStatus.FAILED);
+            note.setOnChain(false);
         }
+        transactionStatsService.recordTransition(transaction, previousStatus);
+        markWalletsChanged(transaction);
 
-        return transactionRepository.save(transaction);
+        noteEventService.publish("STATUS_CHANGED", transaction);
+        return transaction;
     }
 
     /**
      * Retry a failed transaction
      * @param txHash The transaction hash
      * @return The updated transaction
+     * @throws InvalidTransactionStatusException if the transaction is not FAILED
      */
     @Transactional
     public Transaction retryTransaction(String txHash) {
         Transaction transaction = transactionRepository.findByTxHash(txHash)
                 .orElseThrow(() -> new RuntimeException("Transaction not found with hash: " + txHash));
 
-        // Only retry if transaction is in FAILED state
-        if (!"FAILED".equalsIgnoreCase(transaction.getStatus())) {
-            throw new RuntimeException("Can only retry failed transactions. Current status: " + transaction.getStatus());
+        // Only FAILED may move back to PENDING
+        if (transaction.getStatus() != TransactionStatus.FAILED) {
+            throw InvalidTransactionStatusException.invalidTransition(
+                transaction.getId(), txHash, transaction.getStatus().name(), TransactionStatus.PENDING.name());
         }
 
-        transaction.setStatus("PENDING");
+        transaction.setStatus(TransactionStatus.PENDING);
         transaction.setRetryCount(transaction.getRetryCount() + 1);
         transaction.setErrorMessage(null);
         transaction.setLastCheckedAt(LocalDateTime.now());
@@ -186,11 +298,13 @@ public class TransactionService {
         // Update the associated note status
         Note note = transaction.getNote();
         if (note != null) {
-            note.setStatus("PENDING");
-            noteRepository.save(note);
+            note.setStatus(TransactionStatus.PENDING);
         }
+        transactionStatsService.recordTransition(transaction, TransactionStatus.FAILED);
+        markWalletsChanged(transaction);
 
-        return transactionRepository.save(transaction);
+        noteEventService.publish("RETRIED", transaction);
+        return transaction;
     }
 
     /**
@@ -200,6 +314,7 @@ public class TransactionService {
      */
     public Transaction getTransactionByTxHash(String txHash) {
         return transactionRepository.findByTxHash(txHash)
+                .or(() -> transactionArchive.findByTxHash(txHash).map(this::attachNote))
                 .orElseThrow(() -> new RuntimeException("Transaction not found with hash: " + txHash));
     }
 
@@ -216,7 +331,7 @@ public class TransactionService {
      * @param status The transaction status
      * @return List of transactions with the given status
      */
-    public List<Transaction> getTransactionsByStatus(String status) {
+    public List<Transaction> getTransactionsByStatus(TransactionStatus status) {
         return transactionRepository.findByStatus(status);
     }
 
@@ -226,7 +341,95 @@ public class TransactionService {
      * @return List of transactions
      */
     public List<Transaction> getTransactionsByWalletAddress(String walletAddress) {
-        return transactionRepository.findByWalletAddress(walletAddress);
+        List<Transaction> transactions = transactionRepository.findByWalletAddress(walletAddress);
+        List<Transaction> archived = transactionArchive.findByWalletAddress(walletAddress);
+        if (archived.isEmpty()) {
+            return transactions;
+        }
+        Set<Long> noteIds = archived.stream()
+                .map(transaction -> transaction.getNote().getId())
+                .collect(Collectors.toSet());
+        Map<Long, Note> notes = noteRepository.findAllById(noteIds).stream()
+                .collect(Collectors.toMap(Note::getId, Function.identity()));
+        archived.forEach(transaction -> transaction.setNote(notes.get(transaction.getNote().getId())));
+        return mergeArchived(transactions, archived);
+    }
+
+    /**
+     * Get settled transactions old enough to move to the cold archive
+     * @param cutoff Only transactions created before this time qualify
+     * @param limit Maximum number of transactions
+     * @return Transactions in id order, with their metadata loaded
+     */
+    @Transactional(readOnly = true)
+    public List<Transaction> findArchivableTransactions(LocalDateTime cutoff, int limit) {
+        return transactionRepository.findByStatusInAndCreatedAtBeforeOrderByIdAsc(
+            TransactionStatus.SETTLED_STATES, cutoff, Limit.of(limit));
+    }
+
+    /**
+     * Delete transactions that have been written to the cold archive. A row that changed
+     * status since it was read is kept; the archive copy is shadowed by it on reads.
+     * @param transactions The archived transactions
+     * @return Number of rows deleted
+     */
+    @Transactional
+    public int deleteArchivedTransactions(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = transactions.stream().map(Transaction::getId).toList();
+        int deleted = transactionRepository.deleteByIdInAndStatusIn(ids, TransactionStatus.SETTLED_STATES);
+
+        // The bulk delete does not cascade; drop the metadata of the rows that are gone
+        Set<Long> kept = new HashSet<>(transactionRepository.findExistingIds(ids));
+        List<Long> metadataIds = transactions.stream()
+                .filter(transaction -> !kept.contains(transaction.getId()) && transaction.getMetadata() != null)
+                .map(transaction -> transaction.getMetadata().getId())
+                .toList();
+        if (!metadataIds.isEmpty()) {
+            transactionMetadataRepository.deleteAllByIdInBatch(metadataIds);
+        }
+
+        // Hot history reads change for these wallets; counters keep including archived rows
+        transactions.stream()
+                .map(Transaction::getWalletAddress)
+                .filter(walletAddress -> walletAddress != null)
+                .distinct()
+                .forEach(noteChangeService::markWalletChanged);
+        return deleted;
+    }
+
+    /**
+     * Delete every transaction of notes that are being purged, uncounting them from the wallet stats
+     * @param noteIds The note IDs
+     * @return Number of transactions deleted
+     */
+    @Transactional
+    public int deleteTransactionsByNoteIds(Collection<Long> noteIds) {
+        List<Transaction> transactions = transactionRepository.findByNoteIdIn(noteIds);
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        transactionStatsService.recordAllRemoved(transactions);
+        int deleted = transactionRepository.deleteByNoteIdIn(noteIds);
+
+        // The bulk delete does not cascade; the metadata IDs are read from the lazy proxies
+        List<Long> metadataIds = transactions.stream()
+                .filter(transaction -> transaction.getMetadata() != null)
+                .map(transaction -> transaction.getMetadata().getId())
+                .toList();
+        if (!metadataIds.isEmpty()) {
+            transactionMetadataRepository.deleteAllByIdInBatch(metadataIds);
+        }
+
+        // Transaction history changes for these wallets
+        transactions.stream()
+                .map(Transaction::getWalletAddress)
+                .filter(walletAddress -> walletAddress != null)
+                .distinct()
+                .forEach(noteChangeService::markWalletChanged);
+        return deleted;
     }
 
     /**
@@ -239,16 +442,166 @@ public class TransactionService {
         return transactionRepository.findByWalletAddressOrderByCreatedAtDesc(walletAddress, pageable);
     }
 
+    /**
+     * Get one keyset-paginated page of a wallet's transaction history
+     * @param walletAddress The wallet address
+     * @param status Status filter (optional)
+     * @param operationType Operation type filter (optional)
+     * @param cursor Cursor returned with the previous page (optional, absent for the first page)
+     * @param size Page size
+     * @param includeTotal Whether to also count all matching transactions
+     * @return TransactionPageResponse with the page and the cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionPage(String walletAddress, TransactionStatus status, String operationType,
+                                                      String cursor, int size, boolean includeTotal) {
+        LocalDateTime beforeCreatedAt = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                beforeCreatedAt = LocalDateTime.parse(parts[0]);
+                beforeId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // Fetch one extra row to know whether a next page exists
+        List<Transaction> rows = transactionRepository.findWalletPage(
+            walletAddress, status, operationType, beforeCreatedAt, beforeId, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<Transaction> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        Long total = includeTotal ? transactionRepository.countWalletTransactions(walletAddress, status, operationType) : null;
+
+        return new TransactionPageResponse(TransactionHistoryResponse.fromEntities(page), size, hasMore, nextCursor, total);
+    }
+
+    /**
+     * Get transaction counts by status
+     * @param walletAddress Wallet address filter (optional)
+     * @return Map with "total", "pending", "confirmed" and "failed" counts
+     */
+    public Map<String, Long> getTransactionStats(String walletAddress) {
+        return transactionStatsService.getStats(walletAddress);
+    }
+
+    /**
+     * Count unsettled (PENDING, SUBMITTED, PROCESSING) transactions
+     * @param walletAddress Wallet address filter (optional)
+     * @return Pending count; the global value comes from the in-memory gauge
+     */
+    public long countPendingTransactions(String walletAddress) {
+        if (walletAddress != null && !walletAddress.isEmpty()) {
+            return transactionRepository.countByWalletAddressAndStatusIn(
+                walletAddress, TransactionStatus.PENDING_STATES);
+        }
+        return pendingTransactionGauge.getPendingCount();
+    }
+
+    /**
+     * Get a cheap version tag for a wallet's transaction history, for conditional requests
+     * @param walletAddress The wallet address
+     * @return Version tag that changes whenever the wallet's transactions change
+     */
+    public String getWalletVersionTag(String walletAddress) {
+        return noteChangeService.getVersionTag(walletAddress);
+    }
+
+    /**
+     * Replace the stub note of an archived transaction with the live note, if it still exists
+     * @param archived Transaction read from the cold archive
+     * @return The same transaction
+     */
+    private Transaction attachNote(Transaction archived) {
+        Note stub = archived.getNote();
+        archived.setNote(stub == null ? null : noteRepository.findById(stub.getId()).orElse(null));
+        return archived;
+    }
+
+    /**
+     * Combine database rows with archived rows, preferring the database copy of any id found in both
+     * @param transactions Rows from the transactions table
+     * @param archived Rows from the cold archive
+     * @return Merged list in id order
+     */
+    private List<Transaction> mergeArchived(List<Transaction> transactions, List<Transaction> archived) {
+        Set<Long> ids = new HashSet<>();
+        transactions.forEach(transaction -> ids.add(transaction.getId()));
+        List<Transaction> merged = new ArrayList<>(transactions);
+        for (Transaction transaction : archived) {
+            if (ids.add(transaction.getId())) {
+                merged.add(transaction);
+            }
+        }
+        merged.sort(Comparator.comparing(Transaction::getId));
+        return merged;
+    }
+
+    /**
+     * Reject a status change the state machine does not allow
+     * @param transaction The transaction about to change
+     * @param next The requested status
+     */
+    private void checkTransition(Transaction transaction, TransactionStatus next) {
+        if (!transaction.getStatus().canTransitionTo(next)) {
+            throw InvalidTransactionStatusException.invalidTransition(
+                transaction.getId(), transaction.getTxHash(), transaction.getStatus().name(), next.name());
+        }
+    }
+
+    /**
+     * Bump the change version of the transaction's note and, if the transaction was
+     * recorded under a different wallet, of that wallet as well
+     * @param transaction The transaction whose status changed
+     */
+    private void markWalletsChanged(Transaction transaction) {
+        noteChangeService.markGlobalChanged();
+        Note note = transaction.getNote();
+        if (note != null) {
+            noteChangeService.markChanged(note);
+        }
+        String walletAddress = transaction.getWalletAddress();
+        if (walletAddress != null && (note == null || !walletAddress.equals(note.getWalletAddress()))) {
+            noteChangeService.markWalletChanged(walletAddress);
+        }
+    }
+
+    /**
+     * Count a confirmation check that found the transaction still unconfirmed. A single
+     * conditional UPDATE, so the sync worker's detached copy is never written back and a
+     * transaction settled in the meantime is left alone.
+     * @param transactionId The transaction ID
+     * @return true if the transaction was still unsettled and the check was counted
+     */
+    @Transactional
+    public boolean recordUnconfirmedCheck(Long transactionId) {
+        return transactionRepository.incrementRetryCount(
+            transactionId, TransactionStatus.PENDING_STATES, LocalDateTime.now()) > 0;
+    }
+
     /**
      * Get transactions by status and wallet address
      * @param status The transaction status
      * @param walletAddress The wallet address
      * @return List of transactions
      */
-    public List<Transaction> getTransactionsByStatusAndWalletAddress(String status, String walletAddress) {
+    public List<Transaction> getTransactionsByStatusAndWalletAddress(TransactionStatus status, String walletAddress) {
         List<Transaction> allTransactions = transactionRepository.findByWalletAddress(walletAddress);
         return allTransactions.stream()
-                .filter(tx -> status.equalsIgnoreCase(tx.getStatus()))
+                .filter(tx -> tx.getStatus() == status)
                 .toList();
     }
+
+    private List<Claim> pendingClaims() {
+        return TransactionScoped.get(pendingClaimsKey, ArrayList::new, TransactionScoped.CLAIMS,
+            transactionHashRegistry::claimAll);
+    }
 }
@@ -0,0 +1,168 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+import com.notesapp.nabunturan.Entity.WalletTransactionStats;
+import com.notesapp.nabunturan.Repository.TransactionRepository;
+import com.notesapp.nabunturan.Repository.WalletTransactionStatsRepository;
+
+/**
+ * Keeps per-wallet transaction counters in step with every status transition and answers
+ * stats queries from them, falling back to a GROUP BY aggregate where no counter applies
+ */
+@Service
+public class TransactionStatsService {
+
+    private final WalletTransactionStatsRepository walletTransactionStatsRepository;
+    private final TransactionRepository transactionRepository;
+    private final PendingTransactionGauge pendingTransactionGauge;
+
+    @Value("${stats.use-counters:true}")
+    private boolean useCounters;
+
+    // Transaction resource collecting counter deltas per wallet: the five status columns, then the total
+    private final Object pendingDeltasKey = new Object();
+
+    @Autowired
+    public TransactionStatsService(WalletTransactionStatsRepository walletTransactionStatsRepository,
+                                   TransactionRepository transactionRepository,
+                                   PendingTransactionGauge pendingTransactionGauge) {
+        this.walletTransactionStatsRepository = walletTransactionStatsRepository;
+        this.transactionRepository = transactionRepository;
+        this.pendingTransactionGauge = pendingTransactionGauge;
+    }
+
+    /**
+     * Count a newly created transaction. Must run inside the writing transaction.
+     * @param transaction The created transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        adjust(transaction.getWalletAddress(), 1, null, transaction.getStatus(), 1);
+    }
+
+    /**
+     * Move a transaction from one status counter to another. Must run inside the writing transaction.
+     * @param transaction The transaction, already carrying its new status
+     * @param previousStatus Status before the transition
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Transaction transaction, TransactionStatus previousStatus) {
+        if (previousStatus == transaction.getStatus()) {
+            return;
+        }
+        adjust(transaction.getWalletAddress(), 0, previousStatus, transaction.getStatus(), 1);
+    }
+
+    /**
+     * Stop counting a transaction that is being deleted. Must run inside the writing transaction.
+     * @param transaction The transaction being removed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Transaction transaction) {
+        adjust(transaction.getWalletAddress(), -1, transaction.getStatus(), null, 1);
+    }
+
+    /**
+     * Stop counting the transactions of notes being deleted. Must run inside the writing transaction.
+     * @param transactions The transactions being removed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAllRemoved(Collection<Transaction> transactions) {
+        transactions.forEach(this::recordRemoved);
+    }
+
+    /**
+     * Get transaction counts by status
+     * @param walletAddress Wallet address filter (optional)
+     * @return Map with "total", "pending", "confirmed" and "failed" counts
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getStats(String walletAddress) {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("total", 0L);
+        stats.put("pending", 0L);
+        stats.put("confirmed", 0L);
+        stats.put("failed", 0L);
+
+        if (walletAddress != null && !walletAddress.isEmpty() && useCounters) {
+            walletTransactionStatsRepository.findById(walletAddress).ifPresent(counters -> {
+                stats.put("total", counters.getTotalCount());
+                stats.put("pending", counters.getPendingCount());
+                stats.put("confirmed", counters.getConfirmedCount());
+                stats.put("failed", counters.getFailedCount());
+            });
+            return stats;
+        }
+
+        // Global stats (or counters disabled): one GROUP BY instead of loading every row
+        List<Object[]> rows = walletAddress != null && !walletAddress.isEmpty()
+                ? transactionRepository.countByStatusForWallet(walletAddress)
+                : transactionRepository.countByStatusForAllWallets();
+        for (Object[] row : rows) {
+            TransactionStatus status = (TransactionStatus) row[0];
+            long count = (Long) row[1];
+            stats.merge("total", count, Long::sum);
+            String key = status.name().toLowerCase(Locale.ROOT);
+            if (stats.containsKey(key)) {
+                stats.merge(key, count, Long::sum);
+            }
+        }
+        return stats;
+    }
+
+    private void adjust(String walletAddress, long totalDelta, TransactionStatus fromStatus, TransactionStatus toStatus,
+                        long count) {
+        long[] deltas = new long[5];
+        apply(deltas, fromStatus, -count);
+        apply(deltas, toStatus, count);
+        adjust(walletAddress, totalDelta, deltas);
+    }
+
+    private void adjust(String walletAddress, long totalDelta, long[] deltas) {
+        pendingTransactionGauge.adjust(deltas[TransactionStatus.PENDING.getCode()]
+            + deltas[TransactionStatus.SUBMITTED.getCode()] + deltas[TransactionStatus.PROCESSING.getCode()]);
+
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            return;
+        }
+        // Merged with the wallet's other changes in this transaction; written once per wallet at commit
+        long[] pending = pendingDeltas().computeIfAbsent(walletAddress, w -> new long[6]);
+        pending[5] += totalDelta;
+        for (int i = 0; i < deltas.length; i++) {
+            pending[i] += deltas[i];
+        }
+    }
+
+    private Map<String, long[]> pendingDeltas() {
+        // Sorted so concurrent transactions lock the counter rows in the same order
+        return TransactionScoped.get(pendingDeltasKey, TreeMap::new, TransactionScoped.COUNTERS, deltasByWallet ->
+            deltasByWallet.forEach((walletAddress, deltas) -> {
+                if (Arrays.stream(deltas).anyMatch(delta -> delta != 0)) {
+                    walletTransactionStatsRepository.adjust(walletAddress, deltas[5],
+                        deltas[0], deltas[1], deltas[2], deltas[3], deltas[4]);
+                }
+            }));
+    }
+
+    private static void apply(long[] deltas, TransactionStatus status, long delta) {
+        if (status != null) {
+            // Counter columns follow the status codes: pending, submitted, processing, confirmed, failed
+            deltas[status.getCode()] += delta;
+        }
+    }
+}
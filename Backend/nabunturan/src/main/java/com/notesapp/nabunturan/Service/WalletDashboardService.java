@@ -0,0 +1,93 @@
+package com.notesapp.nabunturan.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.notesapp.nabunturan.DTO.NoteWithStatusResponse;
+import com.notesapp.nabunturan.DTO.TransactionHistoryResponse;
+import com.notesapp.nabunturan.DTO.WalletDashboardResponse;
+import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+import com.notesapp.nabunturan.Repository.NoteRepository;
+import com.notesapp.nabunturan.Repository.TransactionRepository;
+
+/**
+ * Assembles the wallet dashboard (first page of notes, pending count, status breakdown,
+ * recent transactions) from one consistent read-only snapshot
+ */
+@Service
+public class WalletDashboardService {
+
+    private final NoteRepository noteRepository;
+    private final TransactionRepository transactionRepository;
+    private final NoteChangeService noteChangeService;
+
+    @Value("${dashboard.notes-page-size:20}")
+    private int notesPageSize;
+
+    @Value("${dashboard.recent-transactions:10}")
+    private int recentTransactions;
+
+    @Autowired
+    public WalletDashboardService(NoteRepository noteRepository, TransactionRepository transactionRepository,
+                                  NoteChangeService noteChangeService) {
+        this.noteRepository = noteRepository;
+        this.transactionRepository = transactionRepository;
+        this.noteChangeService = noteChangeService;
+    }
+
+    /**
+     * Build the dashboard for a wallet. The reads share one connection and one REPEATABLE READ
+     * snapshot, so the counts always agree with the notes and transactions returned.
+     * @param walletAddress The wallet address
+     * @return WalletDashboardResponse
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public WalletDashboardResponse getDashboard(String walletAddress) {
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            throw new IllegalArgumentException("Wallet address cannot be null or empty");
+        }
+
+        WalletDashboardResponse response = new WalletDashboardResponse();
+        response.setWalletAddress(walletAddress);
+        response.setVersion(noteChangeService.getCurrentVersion(walletAddress));
+
+        // Fetch one extra row to know whether there is a next page without a COUNT query
+        List<Note> notes = noteRepository.findByWalletAddressAndDeletedAtIsNullOrderByCreatedAtDesc(
+            walletAddress, Limit.of(notesPageSize + 1));
+        response.setHasMoreNotes(notes.size() > notesPageSize);
+        response.setNotes(NoteWithStatusResponse.fromEntities(
+            notes.size() > notesPageSize ? notes.subList(0, notesPageSize) : notes));
+
+        // One GROUP BY gives the breakdown, the total and the pending count
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        long total = 0;
+        long pending = 0;
+        for (Object[] row : transactionRepository.countByStatusForWallet(walletAddress)) {
+            TransactionStatus status = (TransactionStatus) row[0];
+            long count = (Long) row[1];
+            statusCounts.put(status.name(), count);
+            total += count;
+            if (status.isPending()) {
+                pending += count;
+            }
+        }
+        response.setStatusCounts(statusCounts);
+        response.setTotalTransactions(total);
+        response.setPendingCount(pending);
+
+        response.setRecentTransactions(TransactionHistoryResponse.fromEntities(
+            transactionRepository.findWithNoteByWalletAddressOrderByCreatedAtDescIdDesc(
+                walletAddress, Limit.of(recentTransactions))));
+
+        return response;
+    }
+}
@@ -0,0 +1,160 @@
+package com.notesapp.nabunturan.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maps wallet addresses to their surrogate ids in the wallets table, with a bounded
+ * in-process cache in both directions. Writers register a wallet before the entity that
+ * references it is flushed; WalletAddressConverter then only looks ids up, so nothing is
+ * inserted while Hibernate binds parameters. Lookups that miss both caches use plain JDBC on
+ * the current transaction's connection rather than the entity manager (which would re-enter a flush).
+ */
+@Service
+public class WalletDirectory {
+
+    /** No wallet has this id; binding it makes a query by an unknown address match nothing */
+    public static final long UNKNOWN_WALLET_ID = 0L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${wallets.cache-size:100000}")
+    private int cacheSize;
+
+    // Access-ordered so the least recently used wallets are dropped first
+    private final Map<String, Long> idsByAddress = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > cacheSize;
+        }
+    };
+    private final Map<Long, String> addressesById = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public WalletDirectory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Register a wallet address that is about to be written, and keep its id for the rest of the
+     * transaction. Must be called before any entity referencing the address is flushed.
+     * @param walletAddress The wallet address (ignored if null or empty)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void register(String walletAddress) {
+        if (walletAddress == null || walletAddress.isEmpty() || findCached(walletAddress) != null) {
+            return;
+        }
+        long id = upsert(walletAddress);
+        transactionIds().put(walletAddress, id);
+        remember(walletAddress, id);
+    }
+
+    /**
+     * Get the id for a wallet address: registered in this transaction, cached, or read from the
+     * wallets table. An address that was never registered resolves to UNKNOWN_WALLET_ID.
+     * @param walletAddress The wallet address
+     * @return The wallet id
+     */
+    public long toId(String walletAddress) {
+        Long cached = findCached(walletAddress);
+        if (cached != null) {
+            return cached;
+        }
+
+        Long id = findId(walletAddress);
+        if (id == null) {
+            return UNKNOWN_WALLET_ID;
+        }
+        remember(walletAddress, id);
+        return id;
+    }
+
+    /**
+     * Get the address for a wallet id
+     * @param walletId The wallet id
+     * @return The wallet address
+     */
+    public String getAddress(long walletId) {
+        synchronized (this) {
+            String cached = addressesById.get(walletId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<String> rows = jdbcTemplate.queryForList("SELECT address FROM wallets WHERE id = ?", String.class, walletId);
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("Wallet not found with id: " + walletId);
+        }
+        remember(rows.get(0), walletId);
+        return rows.get(0);
+    }
+
+    private Long findId(String walletAddress) {
+        List<Long> rows = jdbcTemplate.queryForList("SELECT id FROM wallets WHERE address = ?", Long.class, walletAddress);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private Long findCached(String walletAddress) {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            Long registered = transactionIds().get(walletAddress);
+            if (registered != null) {
+                return registered;
+            }
+        }
+        synchronized (this) {
+            return idsByAddress.get(walletAddress);
+        }
+    }
+
+    private long upsert(String walletAddress) {
+        // Inserts the address or touches the existing row; either way the row's id comes back as the
+        // statement's generated key, so no separate LAST_INSERT_ID() read can observe another statement
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO wallets (address, created_at) VALUES (?, NOW(6)) " +
+                "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)", Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, walletAddress);
+            return statement;
+        }, keyHolder);
+        // An updated row counts as two affected rows, and the driver reports one key per affected row
+        // counting up from the real value, so only the first key is meaningful
+        if (keyHolder.getKeyList().isEmpty()) {
+            throw new IllegalStateException("No id returned when registering wallet: " + walletAddress);
+        }
+        return ((Number) keyHolder.getKeyList().get(0).values().iterator().next()).longValue();
+    }
+
+    private Map<String, Long> transactionIds() {
+        return TransactionScoped.get(this, HashMap::new);
+    }
+
+    private void remember(String walletAddress, long walletId) {
+        // A row registered by a transaction that rolls back must never reach the cache
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                idsByAddress.put(walletAddress, walletId);
+                addressesById.put(walletId, walletAddress);
+            }
+        });
+    }
+}
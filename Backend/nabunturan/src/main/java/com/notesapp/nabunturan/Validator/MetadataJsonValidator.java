@@ -0,0 +1,69 @@
+package com.notesapp.nabunturan.Validator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validator for client-supplied transaction metadata
+ * Metadata is parsed once when it is written and stored in canonical form
+ */
+public class MetadataJsonValidator implements ConstraintValidator<ValidMetadataJson, String> {
+
+    // Decimals are kept exact and object keys sorted, so equal metadata always canonicalizes to the same text
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    @Override
+    public void initialize(ValidMetadataJson constraintAnnotation) {
+        // No initialization needed
+    }
+
+    @Override
+    public boolean isValid(String metadataJson, ConstraintValidatorContext context) {
+        // Metadata is optional
+        if (metadataJson == null || metadataJson.isEmpty()) {
+            return true;
+        }
+        return isValidFormat(metadataJson);
+    }
+
+    /**
+     * Static utility method to validate metadata format
+     * @param metadataJson The metadata to validate
+     * @return true if it is a single well-formed JSON value, false otherwise
+     */
+    public static boolean isValidFormat(String metadataJson) {
+        try {
+            CANONICAL_MAPPER.readValue(metadataJson, Object.class);
+            return true;
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Canonicalize metadata: insignificant whitespace removed and object keys sorted
+     * @param metadataJson The metadata in JSON format
+     * @return Canonical JSON, or null for null or empty metadata
+     * @throws IllegalArgumentException if the metadata is not valid JSON
+     */
+    public static String canonicalize(String metadataJson) {
+        if (metadataJson == null || metadataJson.isEmpty()) {
+            return null;
+        }
+        try {
+            return CANONICAL_MAPPER.writeValueAsString(CANONICAL_MAPPER.readValue(metadataJson, Object.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid metadata JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.notesapp.nabunturan.Validator;
 
+import java.util.Locale;
+
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
@@ -59,7 +61,7 @@ public class TransactionHashValidator implements ConstraintValidator<ValidTransa
     }
 
     /**
-     * Normalize transaction hash to lowercase
+     * Normalize transaction hash to lowercase, the form stored and returned by the API
      * @param txHash The transaction hash
      * @return Normalized transaction hash in lowercase
      */
@@ -67,6 +69,6 @@ public class TransactionHashValidator implements ConstraintValidator<ValidTransa
         if (txHash == null) {
             return null;
         }
-        return txHash.toLowerCase();
+        return txHash.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,27 @@
+package com.notesapp.nabunturan.Validator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * Annotation for validating transaction metadata
+ * Metadata must be a single well-formed JSON value
+ */
+@Documented
+@Constraint(validatedBy = MetadataJsonValidator.class)
+@Target({ ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidMetadataJson {
+
+    String message() default "Metadata must be valid JSON";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
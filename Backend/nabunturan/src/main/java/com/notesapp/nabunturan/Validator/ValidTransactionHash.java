@@ -15,7 +15,7 @@ import jakarta.validation.Payload;
  */
 @Documented
 @Constraint(validatedBy = TransactionHashValidator.class)
-@Target({ ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER })
+@Target({ ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE })
 @Retention(RetentionPolicy.RUNTIME)
 public @interface ValidTransactionHash {
     
@@ -0,0 +1,73 @@
+package com.notesapp.nabunturan.Worker;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.notesapp.nabunturan.Service.NotesService;
+
+/**
+ * Scheduled worker that hard-deletes notes marked deleted once their deletion has settled.
+ * Runs inside an off-peak cron window and stops after a time budget, so a large backlog is
+ * worked off over several runs instead of competing with daytime traffic.
+ */
+@Component
+public class NotePurgeWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotePurgeWorker.class);
+
+    @Autowired
+    private NotesService notesService;
+
+    @Value("${purge.enabled:true}")
+    private boolean purgeEnabled;
+
+    @Value("${purge.min-age-hours:24}")
+    private long minAgeHours;
+
+    @Value("${purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${purge.max-duration-minutes:10}")
+    private long maxDurationMinutes;
+
+    /**
+     * Purge deleted notes older than the minimum age, one database transaction per batch
+     */
+    @Scheduled(cron = "${purge.cron:0 */15 1-5 * * *}")
+    public void purgeDeletedNotes() {
+        if (!purgeEnabled) {
+            logger.debug("Note purging is disabled");
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(minAgeHours);
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxDurationMinutes);
+        long purged = 0;
+        try {
+            while (System.nanoTime() < deadline) {
+                List<Long> batch = notesService.findPurgeableNoteIds(cutoff, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                purged += notesService.purgeDeletedNotes(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error purging deleted notes: {}", e.getMessage(), e);
+        }
+
+        if (purged > 0) {
+            logger.info("Purged {} notes deleted before {}", purged, cutoff);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.notesapp.nabunturan.Worker;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Service.TransactionArchive;
+import com.notesapp.nabunturan.Service.TransactionService;
+
+/**
+ * Scheduled worker that moves old settled transactions out of the database into the cold archive
+ */
+@Component
+public class TransactionArchiveWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveWorker.class);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Value("${archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${archive.min-age-days:180}")
+    private long minAgeDays;
+
+    @Value("${archive.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * Archive settled transactions older than the minimum age, one segment per batch.
+     * A segment is written before its rows are deleted, so a failure in between only
+     * leaves rows that exist in both places; the next run deletes them without archiving
+     * them again. A batch that is not fully deleted ends the run.
+     */
+    @Scheduled(fixedDelayString = "${archive.interval:3600000}")
+    public void archiveSettledTransactions() {
+        if (!archiveEnabled) {
+            logger.debug("Transaction archiving is disabled");
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        long archived = 0;
+        try {
+            while (true) {
+                List<Transaction> batch = transactionService.findArchivableTransactions(cutoff, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Transaction> unarchived = batch.stream()
+                        .filter(transaction -> !transactionArchive.contains(transaction))
+                        .toList();
+                transactionArchive.writeSegment(unarchived);
+                int deleted = transactionService.deleteArchivedTransactions(batch);
+                archived += deleted;
+                if (deleted < batch.size() || batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error archiving transactions: {}", e.getMessage(), e);
+        }
+
+        if (archived > 0) {
+            logger.info("Archived {} settled transactions created before {}", archived, cutoff);
+        }
+    }
+}
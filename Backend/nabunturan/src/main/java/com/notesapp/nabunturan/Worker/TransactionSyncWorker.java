@@ -11,10 +11,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import com.notesapp.nabunturan.Entity.Note;
 import com.notesapp.nabunturan.Entity.Transaction;
-import com.notesapp.nabunturan.Repository.NoteRepository;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
 import com.notesapp.nabunturan.Service.BlockfrostService;
+import com.notesapp.nabunturan.Service.NotesService;
+import com.notesapp.nabunturan.Service.OptimisticRetry;
+import com.notesapp.nabunturan.Service.PendingTransactionGauge;
 import com.notesapp.nabunturan.Service.TransactionService;
 
 /**
@@ -32,7 +34,13 @@ public class TransactionSyncWorker {
     private BlockfrostService blockfrostService;
 
     @Autowired
-    private NoteRepository noteRepository;
+    private NotesService notesService;
+
+    @Autowired
+    private PendingTransactionGauge pendingTransactionGauge;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
 
     @Value("${sync.enabled:true}")
     private boolean syncEnabled;
@@ -107,25 +115,24 @@ public class TransactionSyncWorker {
                             ? LocalDateTime.ofEpochSecond(blockTimeUnix, 0, java.time.ZoneOffset.UTC)
                             : null;
 
-                        // Update transaction status to CONFIRMED
-                        transactionService.updateTransactionStatus(
+                        // Update transaction status to CONFIRMED, re-reading it if a user retry got there first
+                        optimisticRetry.run("sync.confirm", () -> transactionService.updateTransactionStatus(
                             txHash,
-                            "CONFIRMED",
+                            TransactionStatus.CONFIRMED,
                             blockHeight,
                             blockTime
-                        );
+                        ));
 
                         // Update associated note status
-                        updateNoteStatus(transaction.getNote().getId(), "CONFIRMED");
+                        updateNoteStatus(transaction.getNote().getId(), TransactionStatus.CONFIRMED);
 
                         logger.info("Transaction {} confirmed at block height {}", txHash, blockHeight);
                         confirmedCount++;
                     } else {
-                        // Transaction not yet confirmed, increment retry count
-                        transaction.setRetryCount(transaction.getRetryCount() + 1);
-                        transaction.setLastCheckedAt(LocalDateTime.now());
+                        // Transaction not yet confirmed
+                        recordUnconfirmedCheck(transaction);
                         logger.debug("Transaction {} not yet confirmed. Retry count: {}", 
-                            txHash, transaction.getRetryCount());
+                            txHash, transaction.getRetryCount() + 1);
                     }
 
                 } catch (Exception e) {
@@ -133,17 +140,20 @@ public class TransactionSyncWorker {
                         transaction.getTxHash(), e.getMessage(), e);
                     
                     // Increment retry count on error
-                    transaction.setRetryCount(transaction.getRetryCount() + 1);
-                    transaction.setLastCheckedAt(LocalDateTime.now());
+                    int retryCount = transaction.getRetryCount() + 1;
+                    recordUnconfirmedCheck(transaction);
                     
                     // If it's a "not found" error and retries exceeded, mark as failed
-                    if (transaction.getRetryCount() >= maxRetryCount) {
+                    if (retryCount >= maxRetryCount) {
                         markTransactionAsFailed(transaction, "Transaction not found: " + e.getMessage());
                         failedCount++;
                     }
                 }
             }
 
+            // Re-count once per cycle so the in-memory pending gauge cannot drift
+            pendingTransactionGauge.refresh();
+
             logger.info("Transaction sync completed. Confirmed: {}, Failed: {}, Expired: {}", 
                 confirmedCount, failedCount, expiredCount);
 
@@ -175,11 +185,12 @@ public class TransactionSyncWorker {
      */
     private void markTransactionAsFailed(Transaction transaction, String errorMessage) {
         try {
-            transactionService.markTransactionAsFailed(transaction.getTxHash(), errorMessage);
+            optimisticRetry.run("sync.fail",
+                () -> transactionService.markTransactionAsFailed(transaction.getTxHash(), errorMessage));
             
             // Update associated note status
             if (transaction.getNote() != null) {
-                updateNoteStatus(transaction.getNote().getId(), "FAILED");
+                updateNoteStatus(transaction.getNote().getId(), TransactionStatus.FAILED);
             }
             
             logger.info("Marked transaction {} as FAILED: {}", transaction.getTxHash(), errorMessage);
@@ -189,25 +200,27 @@ public class TransactionSyncWorker {
         }
     }
 
+    /**
+     * Count a check that left a transaction unconfirmed
+     * @param transaction The transaction checked
+     */
+    private void recordUnconfirmedCheck(Transaction transaction) {
+        try {
+            transactionService.recordUnconfirmedCheck(transaction.getId());
+        } catch (Exception e) {
+            logger.error("Error recording check for transaction {}: {}",
+                transaction.getTxHash(), e.getMessage(), e);
+        }
+    }
+
     /**
      * Update the status of a note
      * @param noteId The ID of the note
      * @param status The new status
      */
-    private void updateNoteStatus(Long noteId, String status) {
+    private void updateNoteStatus(Long noteId, TransactionStatus status) {
         try {
-            Note note = noteRepository.findById(noteId).orElse(null);
-            if (note != null) {
-                note.setStatus(status);
-                
-                // Set onChain flag if confirmed
-                if ("CONFIRMED".equals(status)) {
-                    note.setOnChain(true);
-                } else if ("FAILED".equals(status)) {
-                    note.setOnChain(false);
-                }
-                
-                noteRepository.save(note);
+            if (optimisticRetry.run("sync.note-status", () -> notesService.updateNoteStatus(noteId, status))) {
                 logger.debug("Updated note {} status to {}", noteId, status);
             } else {
                 logger.warn("Note {} not found for status update", noteId);
@@ -0,0 +1,150 @@
+package db.migration;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.zip.Deflater;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Moves transactions.metadata_json into the transaction_metadata table, canonicalized and
+ * compressed the same way the application writes it, in id-ordered batches. Each existing row
+ * gets a metadata row with the same id, so transactions.metadata_id can be set in one statement.
+ * Metadata that does not parse is kept verbatim. The TEXT column is dropped at the end.
+ * The canonical form and the stored encoding are copied here as they were when this migration
+ * was written, so later changes to MetadataJsonValidator or MetadataJsonConverter cannot change
+ * what it writes.
+ */
+public class V12__Compress_transaction_metadata extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Stored format markers, as read by MetadataJsonConverter
+    private static final byte FORMAT_PLAIN = 0;
+    private static final byte FORMAT_DEFLATE = 1;
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE transaction_metadata ("
+                + "id BIGINT NOT NULL AUTO_INCREMENT, "
+                + "metadata BLOB NOT NULL, "
+                + "PRIMARY KEY (id)"
+                + ") ENGINE=InnoDB");
+            statement.execute("ALTER TABLE transactions ADD COLUMN metadata_id BIGINT NULL");
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement select = connection.prepareStatement(
+                 "SELECT id, metadata_json FROM transactions WHERE id > ? AND metadata_json IS NOT NULL "
+                 + "AND metadata_json <> '' ORDER BY id LIMIT ?");
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO transaction_metadata (id, metadata) VALUES (?, ?)")) {
+
+            long lastId = 0;
+            while (true) {
+                select.setLong(1, lastId);
+                select.setInt(2, BATCH_SIZE);
+
+                int rows = 0;
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows++;
+                        lastId = resultSet.getLong(1);
+                        insert.setLong(1, lastId);
+                        insert.setBytes(2, encode(canonicalize(resultSet.getString(2))));
+                        insert.addBatch();
+                    }
+                }
+
+                insert.executeBatch();
+                connection.commit();
+                if (rows < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE transactions t JOIN transaction_metadata m ON m.id = t.id SET t.metadata_id = m.id");
+            statement.execute("ALTER TABLE transactions DROP COLUMN metadata_json");
+        }
+    }
+
+    /**
+     * Sort object keys and drop insignificant whitespace, keeping decimals exact
+     * @param metadata The stored metadata
+     * @return Canonical JSON, or the metadata unchanged if it does not parse
+     */
+    private static String canonicalize(String metadata) {
+        try {
+            return CANONICAL_MAPPER.writeValueAsString(CANONICAL_MAPPER.readValue(metadata, Object.class));
+        } catch (JsonProcessingException e) {
+            return metadata;
+        }
+    }
+
+    /**
+     * Encode metadata as a format marker followed by its UTF-8 text or raw deflate stream, whichever is smaller
+     * @param metadata The metadata
+     * @return The stored bytes
+     */
+    private static byte[] encode(String metadata) {
+        byte[] plain = metadata.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(plain);
+        boolean useDeflate = compressed.length < plain.length;
+        byte[] body = useDeflate ? compressed : plain;
+
+        byte[] stored = new byte[body.length + 1];
+        stored[0] = useDeflate ? FORMAT_DEFLATE : FORMAT_PLAIN;
+        System.arraycopy(body, 0, stored, 1, body.length);
+        return stored;
+    }
+
+    private static byte[] deflate(byte[] plain) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
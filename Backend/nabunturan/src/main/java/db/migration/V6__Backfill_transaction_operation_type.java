@@ -0,0 +1,99 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Backfills transactions.operation_type from metadata_json in id-ordered batches, committing
+ * each batch so the table is never locked for the whole run. Uses the same matching rules the
+ * history endpoint used to apply on every read; rows it cannot classify stay NULL (UNKNOWN).
+ */
+public class V6__Backfill_transaction_operation_type extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement select = connection.prepareStatement(
+                 "SELECT id, metadata_json FROM transactions WHERE id > ? AND operation_type IS NULL ORDER BY id LIMIT ?");
+             PreparedStatement update = connection.prepareStatement(
+                 "UPDATE transactions SET operation_type = ? WHERE id = ?")) {
+
+            long lastId = 0;
+            while (true) {
+                select.setLong(1, lastId);
+                select.setInt(2, BATCH_SIZE);
+
+                int rows = 0;
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows++;
+                        lastId = resultSet.getLong(1);
+                        String operationType = determineOperationType(resultSet.getString(2));
+                        if (operationType != null) {
+                            update.setString(1, operationType);
+                            update.setLong(2, lastId);
+                            update.addBatch();
+                        }
+                    }
+                }
+
+                update.executeBatch();
+                connection.commit();
+                if (rows < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static String determineOperationType(String metadata) {
+        if (metadata == null || metadata.isEmpty()) {
+            return null;
+        }
+
+        // Format: "operation":"CREATE" or "type": "CREATE"
+        String metadataUpper = metadata.toUpperCase(Locale.ROOT);
+        if (metadataUpper.contains("\"OPERATION\"") || metadataUpper.contains("\"TYPE\"")) {
+            for (String operation : new String[] { "CREATE", "UPDATE", "DELETE" }) {
+                if (metadataUpper.contains("\"" + operation + "\"")) {
+                    return operation;
+                }
+            }
+        }
+
+        // Fall back to the value following an "operation" key
+        int opIndex = metadata.toLowerCase(Locale.ROOT).indexOf("\"operation\"");
+        if (opIndex == -1) {
+            return null;
+        }
+        int colonIndex = metadata.indexOf(':', opIndex);
+        int valueStart = colonIndex != -1 ? metadata.indexOf('"', colonIndex + 1) : -1;
+        int valueEnd = valueStart != -1 ? metadata.indexOf('"', valueStart + 1) : -1;
+        if (valueEnd == -1) {
+            return null;
+        }
+        String value = metadata.substring(valueStart + 1, valueEnd).toUpperCase(Locale.ROOT);
+        return "CREATE".equals(value) || "UPDATE".equals(value) || "DELETE".equals(value) ? value : null;
+    }
+}
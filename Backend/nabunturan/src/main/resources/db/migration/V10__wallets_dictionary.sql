@@ -0,0 +1,52 @@
+-- Wallet dictionary: notes and transactions reference wallets.id instead of repeating the
+-- VARCHAR(150) address in every row and every wallet-leading index
+
+CREATE TABLE wallets (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    address VARCHAR(150) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_wallets_address (address)
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO wallets (address, created_at)
+SELECT wallet_address, NOW(6) FROM notes WHERE wallet_address IS NOT NULL
+UNION
+SELECT created_by_wallet, NOW(6) FROM notes WHERE created_by_wallet IS NOT NULL
+UNION
+SELECT wallet_address, NOW(6) FROM transactions WHERE wallet_address IS NOT NULL;
+
+-- notes
+ALTER TABLE notes
+    ADD COLUMN wallet_id BIGINT NULL,
+    ADD COLUMN created_by_wallet_id BIGINT NULL;
+
+UPDATE notes n
+LEFT JOIN wallets w ON w.address = n.wallet_address
+LEFT JOIN wallets c ON c.address = n.created_by_wallet
+SET n.wallet_id = w.id,
+    n.created_by_wallet_id = c.id;
+
+DROP INDEX idx_notes_wallet_address ON notes;
+DROP INDEX idx_notes_wallet_change_version ON notes;
+ALTER TABLE notes
+    DROP COLUMN wallet_address,
+    DROP COLUMN created_by_wallet;
+CREATE INDEX idx_notes_wallet_id ON notes (wallet_id);
+CREATE INDEX idx_notes_wallet_change_version ON notes (wallet_id, change_version);
+
+-- transactions
+ALTER TABLE transactions ADD COLUMN wallet_id BIGINT NULL;
+
+UPDATE transactions t
+JOIN wallets w ON w.address = t.wallet_address
+SET t.wallet_id = w.id;
+
+DROP INDEX idx_transactions_wallet_status ON transactions;
+DROP INDEX idx_transactions_wallet_operation ON transactions;
+DROP INDEX idx_transactions_wallet_created_id ON transactions;
+ALTER TABLE transactions DROP COLUMN wallet_address;
+CREATE INDEX idx_transactions_wallet_status ON transactions (wallet_id, status);
+CREATE INDEX idx_transactions_wallet_operation ON transactions (wallet_id, operation_type, created_at);
+CREATE INDEX idx_transactions_wallet_created_id
+    ON transactions (wallet_id, created_at, id, status, operation_type);
@@ -0,0 +1,12 @@
+-- Permanent claims on transaction hashes. The unique index on transactions only covers rows still
+-- in the table; claims outlive their transactions (including those moved to the cold archive), so
+-- a hash can never be submitted twice.
+
+CREATE TABLE transaction_hashes (
+    tx_hash BINARY(32) NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    PRIMARY KEY (tx_hash)
+) ENGINE=InnoDB;
+
+INSERT INTO transaction_hashes (tx_hash, transaction_id)
+SELECT tx_hash, id FROM transactions WHERE tx_hash IS NOT NULL;
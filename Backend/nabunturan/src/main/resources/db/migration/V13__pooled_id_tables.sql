@@ -0,0 +1,22 @@
+-- Pooled id generators for notes, transactions and transaction_metadata. MySQL has no sequences,
+-- so Hibernate emulates each one with a single-row table and reserves 50 ids per round trip
+-- (allocationSize in the entities). Ids are assigned before the INSERT, which lets Hibernate
+-- batch inserts; the AUTO_INCREMENT columns are left in place but no longer used by the application.
+--
+-- The pooled optimizer hands out (next_val - 49 .. next_val), so each table starts 51 past the
+-- current maximum id to keep the first block clear of existing rows.
+
+CREATE TABLE notes_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO notes_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM notes;
+
+CREATE TABLE transactions_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO transactions_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM transactions;
+
+CREATE TABLE transaction_metadata_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO transaction_metadata_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM transaction_metadata;
@@ -0,0 +1,7 @@
+-- Pooled ids for note_tombstones, so deletes in a bulk request batch their tombstone INSERTs
+-- like note and transaction INSERTs (see V13 for why each table starts 51 past the maximum id)
+
+CREATE TABLE note_tombstones_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO note_tombstones_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM note_tombstones;
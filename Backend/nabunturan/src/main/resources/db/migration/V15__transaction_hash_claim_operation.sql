@@ -0,0 +1,11 @@
+-- Record which note and operation claimed each transaction hash, so a resubmitted create, update
+-- or delete is recognised from the transaction_hashes primary key alone
+
+ALTER TABLE transaction_hashes
+    ADD COLUMN note_id BIGINT NULL,
+    ADD COLUMN operation_type VARCHAR(10) NULL;
+
+UPDATE transaction_hashes h
+JOIN transactions t ON t.id = h.transaction_id
+SET h.note_id = t.note_id,
+    h.operation_type = t.operation_type;
@@ -0,0 +1,7 @@
+-- Row versions for optimistic locking. Hibernate bumps and checks them on every entity UPDATE,
+-- and the single-row conditional UPDATEs issued through JDBC (pin toggle, sync check counter)
+-- bump them as well.
+
+ALTER TABLE notes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE transactions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
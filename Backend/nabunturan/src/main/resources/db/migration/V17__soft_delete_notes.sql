@@ -0,0 +1,11 @@
+-- Soft delete: deleting a note sets deleted_at in one UPDATE and keeps the row and its transactions,
+-- so the DELETE transaction can still be confirmed. NotePurgeWorker hard-deletes the row later.
+-- Note list queries filter on deleted_at IS NULL, so the list indexes carry it ahead of created_at.
+
+ALTER TABLE notes ADD COLUMN deleted_at DATETIME(6) NULL;
+
+DROP INDEX idx_notes_wallet_id ON notes;
+CREATE INDEX idx_notes_wallet_deleted_created ON notes (wallet_id, deleted_at, created_at);
+
+DROP INDEX idx_notes_created_at ON notes;
+CREATE INDEX idx_notes_deleted_created ON notes (deleted_at, created_at);
@@ -0,0 +1,44 @@
+-- Revision history for notes. Each create or update stores the note's fields and its content,
+-- either in full (a snapshot) or as one splice against the previous revision: replace
+-- splice_length characters at splice_offset with content. A snapshot is written every
+-- revisions.snapshot-interval revisions, so rebuilding any revision reads a bounded run of rows.
+-- Rows link to the transaction that carried the change, without a foreign key: the cold archive
+-- removes settled transactions while their revisions stay, so the hash is kept to find them there.
+
+CREATE TABLE note_revisions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    note_id BIGINT NOT NULL,
+    revision INT NOT NULL,
+    transaction_id BIGINT NULL,
+    tx_hash BINARY(32) NULL,
+    operation_type VARCHAR(10) NULL,
+    title VARCHAR(255) NOT NULL,
+    category VARCHAR(100) NULL,
+    is_pinned BIT NOT NULL,
+    snapshot BIT NOT NULL,
+    splice_offset INT NULL,
+    splice_length INT NULL,
+    content TEXT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_note_revisions_note_revision (note_id, revision)
+) ENGINE=InnoDB;
+
+ALTER TABLE notes ADD COLUMN latest_revision INT NOT NULL DEFAULT 0;
+
+-- Existing notes start their history with a snapshot of their current state
+INSERT INTO note_revisions (note_id, revision, transaction_id, tx_hash, operation_type, title, category,
+                            is_pinned, snapshot, content, created_at)
+SELECT n.id, 1, h.transaction_id, h.tx_hash, h.operation_type, n.title, n.category,
+       n.is_pinned, TRUE, COALESCE(n.content, ''), n.updated_at
+FROM notes n
+LEFT JOIN transaction_hashes h ON h.tx_hash = COALESCE(n.last_updated_tx_hash, n.tx_hash)
+WHERE n.deleted_at IS NULL;
+
+UPDATE notes SET latest_revision = 1 WHERE deleted_at IS NULL;
+
+-- Pooled ids, as for the other tables (see V13 for why the table starts 51 past the maximum id)
+CREATE TABLE note_revisions_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO note_revisions_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM note_revisions;
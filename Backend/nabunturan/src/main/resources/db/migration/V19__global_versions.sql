@@ -0,0 +1,13 @@
+-- Global change counter for unfiltered note and transaction lists. Every write transaction
+-- increments one of the stripes just before it commits; the sum of all stripes is the version.
+-- Striping keeps unrelated wallets from serialising on a single row.
+
+CREATE TABLE global_versions (
+    stripe TINYINT NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (stripe)
+) ENGINE=InnoDB;
+
+INSERT INTO global_versions (stripe, version)
+VALUES (0, 0), (1, 0), (2, 0), (3, 0), (4, 0), (5, 0), (6, 0), (7, 0),
+       (8, 0), (9, 0), (10, 0), (11, 0), (12, 0), (13, 0), (14, 0), (15, 0);
@@ -0,0 +1,49 @@
+-- Baseline schema for notes and transactions, as previously created by Hibernate.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE notes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    content TEXT,
+    is_pinned BIT NOT NULL,
+    category VARCHAR(100),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    created_by_wallet VARCHAR(150),
+    on_chain BIT NOT NULL,
+    latest_tx_hash VARCHAR(64),
+    status VARCHAR(50),
+    tx_hash VARCHAR(64),
+    wallet_address VARCHAR(150),
+    last_updated_tx_hash VARCHAR(64),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_notes_status ON notes (status);
+CREATE INDEX idx_notes_tx_hash ON notes (tx_hash);
+CREATE INDEX idx_notes_wallet_address ON notes (wallet_address);
+CREATE INDEX idx_notes_created_at ON notes (created_at);
+
+CREATE TABLE transactions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    note_id BIGINT NOT NULL,
+    tx_hash VARCHAR(64),
+    status VARCHAR(50) NOT NULL,
+    wallet_address VARCHAR(150),
+    metadata_json TEXT,
+    block_height BIGINT,
+    block_time DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    confirmed_at DATETIME(6),
+    last_checked_at DATETIME(6),
+    retry_count INT NOT NULL,
+    error_message TEXT,
+    PRIMARY KEY (id),
+    -- Named as Hibernate's implicit naming strategy named it, so fresh and baselined schemas match
+    CONSTRAINT FK6if5ab5nynqc3js4hr8uw0l0b FOREIGN KEY (note_id) REFERENCES notes (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_status ON transactions (status);
+CREATE INDEX idx_tx_hash ON transactions (tx_hash);
+CREATE INDEX idx_wallet_address ON transactions (wallet_address);
+CREATE INDEX idx_created_at ON transactions (created_at);
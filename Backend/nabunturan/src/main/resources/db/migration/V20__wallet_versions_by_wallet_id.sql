@@ -0,0 +1,18 @@
+-- wallet_versions references wallets.id like notes and transactions, instead of keying every
+-- version row by the VARCHAR(150) address
+
+-- A wallet with versions but no other rows may not be in the dictionary yet
+INSERT IGNORE INTO wallets (address, created_at)
+SELECT wallet_address, NOW(6) FROM wallet_versions;
+
+ALTER TABLE wallet_versions ADD COLUMN wallet_id BIGINT NULL;
+
+UPDATE wallet_versions v
+JOIN wallets w ON w.address = v.wallet_address
+SET v.wallet_id = w.id;
+
+ALTER TABLE wallet_versions
+    DROP PRIMARY KEY,
+    DROP COLUMN wallet_address,
+    MODIFY wallet_id BIGINT NOT NULL,
+    ADD PRIMARY KEY (wallet_id);
@@ -0,0 +1,28 @@
+-- Delta sync: per-wallet change counter, per-note change version and deletion tombstones
+
+CREATE TABLE wallet_versions (
+    wallet_address VARCHAR(150) NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (wallet_address)
+) ENGINE=InnoDB;
+
+ALTER TABLE notes ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
+
+-- Existing notes become visible to a client syncing from cursor 0
+UPDATE notes SET change_version = 1 WHERE wallet_address IS NOT NULL;
+
+INSERT INTO wallet_versions (wallet_address, version)
+SELECT DISTINCT wallet_address, 1 FROM notes WHERE wallet_address IS NOT NULL;
+
+CREATE INDEX idx_notes_wallet_change_version ON notes (wallet_address, change_version);
+
+CREATE TABLE note_tombstones (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    note_id BIGINT NOT NULL,
+    wallet_address VARCHAR(150) NOT NULL,
+    change_version BIGINT NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_tombstones_wallet_change_version ON note_tombstones (wallet_address, change_version);
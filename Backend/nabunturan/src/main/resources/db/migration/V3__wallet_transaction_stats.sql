@@ -0,0 +1,25 @@
+-- Per-wallet transaction counters, maintained by the application on every status transition
+
+CREATE TABLE wallet_transaction_stats (
+    wallet_address VARCHAR(150) NOT NULL,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    pending_count BIGINT NOT NULL DEFAULT 0,
+    submitted_count BIGINT NOT NULL DEFAULT 0,
+    processing_count BIGINT NOT NULL DEFAULT 0,
+    confirmed_count BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (wallet_address)
+) ENGINE=InnoDB;
+
+INSERT INTO wallet_transaction_stats (wallet_address, total_count, pending_count, submitted_count,
+                                      processing_count, confirmed_count, failed_count)
+SELECT wallet_address,
+       COUNT(*),
+       SUM(UPPER(status) = 'PENDING'),
+       SUM(UPPER(status) = 'SUBMITTED'),
+       SUM(UPPER(status) = 'PROCESSING'),
+       SUM(UPPER(status) = 'CONFIRMED'),
+       SUM(UPPER(status) = 'FAILED')
+FROM transactions
+WHERE wallet_address IS NOT NULL
+GROUP BY wallet_address;
@@ -0,0 +1,2 @@
+-- Lets per-wallet pending counts be answered from the index alone
+CREATE INDEX idx_transactions_wallet_status ON transactions (wallet_address, status);
@@ -0,0 +1,5 @@
+-- Operation type recorded at write time; existing rows are backfilled by V6
+
+ALTER TABLE transactions ADD COLUMN operation_type VARCHAR(10) NULL;
+
+CREATE INDEX idx_transactions_wallet_operation ON transactions (wallet_address, operation_type, created_at);
@@ -0,0 +1,8 @@
+-- Keyset pagination of wallet history: seek on (wallet_address, created_at, id), with status and
+-- operation_type in the index so filters are checked before any row is read
+
+CREATE INDEX idx_transactions_wallet_created_id
+    ON transactions (wallet_address, created_at, id, status, operation_type);
+
+-- Every wallet lookup is now served by a composite index with wallet_address as its prefix
+DROP INDEX idx_wallet_address ON transactions;
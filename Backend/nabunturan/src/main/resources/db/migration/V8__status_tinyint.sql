@@ -0,0 +1,46 @@
+-- Store transaction and note status as a 1-byte code instead of VARCHAR(50).
+-- Codes mirror TransactionStatus: 0 PENDING, 1 SUBMITTED, 2 PROCESSING, 3 CONFIRMED, 4 FAILED.
+
+-- transactions
+ALTER TABLE transactions ADD COLUMN status_code TINYINT NULL;
+
+UPDATE transactions
+SET status_code = CASE UPPER(status)
+        WHEN 'PENDING' THEN 0
+        WHEN 'SUBMITTED' THEN 1
+        WHEN 'PROCESSING' THEN 2
+        WHEN 'CONFIRMED' THEN 3
+        ELSE 4
+    END;
+
+DROP INDEX idx_status ON transactions;
+DROP INDEX idx_transactions_wallet_status ON transactions;
+DROP INDEX idx_transactions_wallet_created_id ON transactions;
+
+ALTER TABLE transactions DROP COLUMN status;
+ALTER TABLE transactions CHANGE COLUMN status_code status TINYINT NOT NULL;
+
+CREATE INDEX idx_status ON transactions (status);
+CREATE INDEX idx_transactions_wallet_status ON transactions (wallet_address, status);
+CREATE INDEX idx_transactions_wallet_created_id
+    ON transactions (wallet_address, created_at, id, status, operation_type);
+
+-- notes (status is NULL until a note has a transaction)
+ALTER TABLE notes ADD COLUMN status_code TINYINT NULL;
+
+UPDATE notes
+SET status_code = CASE UPPER(status)
+        WHEN 'PENDING' THEN 0
+        WHEN 'SUBMITTED' THEN 1
+        WHEN 'PROCESSING' THEN 2
+        WHEN 'CONFIRMED' THEN 3
+        WHEN 'FAILED' THEN 4
+        ELSE NULL
+    END;
+
+DROP INDEX idx_notes_status ON notes;
+
+ALTER TABLE notes DROP COLUMN status;
+ALTER TABLE notes CHANGE COLUMN status_code status TINYINT NULL;
+
+CREATE INDEX idx_notes_status ON notes (status);
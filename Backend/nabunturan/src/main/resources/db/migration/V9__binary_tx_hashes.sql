@@ -0,0 +1,45 @@
+-- Store transaction hashes as 32 raw bytes instead of 64-character hex strings,
+-- and make transactions.tx_hash unique. Values that are not 64 hex characters become NULL.
+
+-- transactions
+ALTER TABLE transactions ADD COLUMN tx_hash_bin BINARY(32) NULL;
+
+UPDATE transactions
+SET tx_hash_bin = UNHEX(tx_hash)
+WHERE tx_hash REGEXP '^[0-9a-fA-F]{64}$';
+
+-- A hash submitted more than once keeps it on its first transaction only
+UPDATE transactions t
+JOIN (SELECT tx_hash_bin, MIN(id) AS keep_id
+      FROM transactions
+      WHERE tx_hash_bin IS NOT NULL
+      GROUP BY tx_hash_bin
+      HAVING COUNT(*) > 1) d ON t.tx_hash_bin = d.tx_hash_bin AND t.id <> d.keep_id
+SET t.tx_hash_bin = NULL;
+
+DROP INDEX idx_tx_hash ON transactions;
+ALTER TABLE transactions DROP COLUMN tx_hash;
+ALTER TABLE transactions CHANGE COLUMN tx_hash_bin tx_hash BINARY(32) NULL;
+CREATE UNIQUE INDEX uk_transactions_tx_hash ON transactions (tx_hash);
+
+-- notes
+ALTER TABLE notes
+    ADD COLUMN latest_tx_hash_bin BINARY(32) NULL,
+    ADD COLUMN tx_hash_bin BINARY(32) NULL,
+    ADD COLUMN last_updated_tx_hash_bin BINARY(32) NULL;
+
+UPDATE notes
+SET latest_tx_hash_bin = IF(latest_tx_hash REGEXP '^[0-9a-fA-F]{64}$', UNHEX(latest_tx_hash), NULL),
+    tx_hash_bin = IF(tx_hash REGEXP '^[0-9a-fA-F]{64}$', UNHEX(tx_hash), NULL),
+    last_updated_tx_hash_bin = IF(last_updated_tx_hash REGEXP '^[0-9a-fA-F]{64}$', UNHEX(last_updated_tx_hash), NULL);
+
+DROP INDEX idx_notes_tx_hash ON notes;
+ALTER TABLE notes
+    DROP COLUMN latest_tx_hash,
+    DROP COLUMN tx_hash,
+    DROP COLUMN last_updated_tx_hash;
+ALTER TABLE notes
+    CHANGE COLUMN latest_tx_hash_bin latest_tx_hash BINARY(32) NULL,
+    CHANGE COLUMN tx_hash_bin tx_hash BINARY(32) NULL,
+    CHANGE COLUMN last_updated_tx_hash_bin last_updated_tx_hash BINARY(32) NULL;
+CREATE INDEX idx_notes_tx_hash ON notes (tx_hash);
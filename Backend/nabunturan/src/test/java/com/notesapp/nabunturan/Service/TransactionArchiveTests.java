@@ -0,0 +1,219 @@
+package com.notesapp.nabunturan.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.notesapp.nabunturan.Entity.Note;
+import com.notesapp.nabunturan.Entity.Transaction;
+import com.notesapp.nabunturan.Entity.TransactionStatus;
+
+/**
+ * Round-trips transactions through archive segments on disk, reading them back from a fresh
+ * instance so every lookup goes through the encoded index and the compressed blocks.
+ */
+class TransactionArchiveTests {
+
+    // Small blocks so a few dozen records span many of them
+    private static final int BLOCK_RECORDS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsRoundTripThroughSegment() {
+        Transaction written = transaction(1, 10, hash(1), "addr_test1");
+        written.setMetadataJson("{\"title\":\"Groceries\"}");
+        written.setOperationType("UPDATE");
+        written.setBlockHeight(12345L);
+        written.setBlockTime(LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123456000));
+        written.setConfirmedAt(LocalDateTime.of(2026, 3, 1, 12, 31));
+        written.setLastCheckedAt(LocalDateTime.of(2026, 3, 1, 12, 31, 5));
+        written.setRetryCount(3);
+        written.setErrorMessage("Timed out once ✓");
+        Transaction hashless = transaction(2, 11, null, null);
+        hashless.setStatus(TransactionStatus.FAILED);
+        archive().writeSegment(List.of(written, hashless));
+
+        TransactionArchive reopened = archive();
+        Transaction read = reopened.findByTxHash(hash(1)).orElseThrow();
+        assertEquals(written.getId(), read.getId());
+        assertEquals(written.getNote().getId(), read.getNote().getId());
+        assertEquals(written.getTxHash(), read.getTxHash());
+        assertEquals(written.getStatus(), read.getStatus());
+        assertEquals(written.getWalletAddress(), read.getWalletAddress());
+        assertEquals(written.getMetadataJson(), read.getMetadataJson());
+        assertEquals(written.getOperationType(), read.getOperationType());
+        assertEquals(written.getBlockHeight(), read.getBlockHeight());
+        assertEquals(written.getBlockTime(), read.getBlockTime());
+        assertEquals(written.getCreatedAt(), read.getCreatedAt());
+        assertEquals(written.getConfirmedAt(), read.getConfirmedAt());
+        assertEquals(written.getLastCheckedAt(), read.getLastCheckedAt());
+        assertEquals(written.getRetryCount(), read.getRetryCount());
+        assertEquals(written.getErrorMessage(), read.getErrorMessage());
+
+        List<Transaction> byNote = reopened.findByNoteId(11L);
+        assertEquals(1, byNote.size());
+        Transaction readHashless = byNote.get(0);
+        assertNull(readHashless.getTxHash());
+        assertNull(readHashless.getWalletAddress());
+        assertNull(readHashless.getMetadataJson());
+        assertNull(readHashless.getBlockHeight());
+        assertNull(readHashless.getConfirmedAt());
+        assertEquals(TransactionStatus.FAILED, readHashless.getStatus());
+    }
+
+    @Test
+    void blockSearchFindsEveryHashAndRejectsGaps() {
+        // Even hash numbers only, so each odd one falls between two archived hashes
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            transactions.add(transaction(i, 100 + i % 7, hash(2 * i), "addr_test" + i % 3));
+        }
+        transactions.add(transaction(51, 200, null, "addr_test0"));
+        archive().writeSegment(transactions);
+
+        TransactionArchive reopened = archive();
+        for (int i = 1; i <= 50; i++) {
+            Optional<Transaction> found = reopened.findByTxHash(hash(2 * i));
+            assertTrue(found.isPresent(), "hash " + 2 * i);
+            assertEquals(Long.valueOf(i), found.get().getId());
+        }
+        for (int i = 0; i <= 101; i += 2) {
+            assertFalse(reopened.findByTxHash(hash(i + 1)).isPresent(), "hash " + (i + 1));
+        }
+        assertFalse(reopened.findByTxHash(hash(0)).isPresent());
+        assertFalse(reopened.findByTxHash("ff".repeat(32)).isPresent());
+
+        assertEquals(7, reopened.findByNoteId(100L).size());
+        assertEquals(17, reopened.findByWalletAddress("addr_test0").size());
+    }
+
+    @Test
+    void blockForHashSkipsHashesBetweenBlocks() {
+        TransactionArchive.Block[] blocks = {
+            new TransactionArchive.Block(0, 10, 20, "b0", "b4"),
+            new TransactionArchive.Block(10, 10, 20, "c0", "c4"),
+            new TransactionArchive.Block(20, 10, 20, "d0", "d0"),
+            // Hashless records sort last
+            new TransactionArchive.Block(30, 10, 20, null, null)
+        };
+
+        assertEquals(0, TransactionArchive.blockForHash(blocks, "b0"));
+        assertEquals(0, TransactionArchive.blockForHash(blocks, "b2"));
+        assertEquals(0, TransactionArchive.blockForHash(blocks, "b4"));
+        assertEquals(1, TransactionArchive.blockForHash(blocks, "c0"));
+        assertEquals(1, TransactionArchive.blockForHash(blocks, "c4"));
+        assertEquals(2, TransactionArchive.blockForHash(blocks, "d0"));
+
+        assertEquals(-1, TransactionArchive.blockForHash(blocks, "a9"));
+        assertEquals(-1, TransactionArchive.blockForHash(blocks, "b5"));
+        assertEquals(-1, TransactionArchive.blockForHash(blocks, "c9"));
+        assertEquals(-1, TransactionArchive.blockForHash(blocks, "d1"));
+        assertEquals(-1, TransactionArchive.blockForHash(new TransactionArchive.Block[0], "b0"));
+    }
+
+    @Test
+    void newestSegmentWins() {
+        archive().writeSegment(List.of(transaction(1, 10, hash(1), "addr_test1")));
+        Transaction failed = transaction(1, 10, hash(1), "addr_test1");
+        failed.setStatus(TransactionStatus.FAILED);
+        archive().writeSegment(List.of(failed));
+
+        TransactionArchive reopened = archive();
+        assertEquals(TransactionStatus.FAILED, reopened.findByTxHash(hash(1)).orElseThrow().getStatus());
+        assertEquals(TransactionStatus.FAILED, reopened.findByNoteId(10L).get(0).getStatus());
+        assertTrue(reopened.contains(failed));
+        assertFalse(reopened.contains(transaction(1, 10, hash(1), "addr_test1")));
+        assertFalse(reopened.contains(transaction(2, 10, hash(2), "addr_test1")));
+    }
+
+    @Test
+    void leftoverTempFilesAreSwept() throws Exception {
+        archive().writeSegment(List.of(transaction(1, 10, hash(1), "addr_test1")));
+        Path leftover = Files.writeString(directory.resolve("segment-000000000002.seg.tmp"), "partial");
+
+        TransactionArchive reopened = archive();
+        assertTrue(reopened.findByTxHash(hash(1)).isPresent());
+        assertFalse(Files.exists(leftover));
+
+        reopened.writeSegment(List.of(transaction(2, 10, hash(2), "addr_test1")));
+        assertTrue(Files.exists(directory.resolve("segment-000000000002.idx")));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() throws Exception {
+        int count = 10_000;
+        TransactionArchive.BloomFilter filter = TransactionArchive.BloomFilter.create(count);
+        for (int i = 0; i < count; i++) {
+            filter.add(hash(i));
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            filter.write(out);
+        }
+        TransactionArchive.BloomFilter read;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            read = TransactionArchive.BloomFilter.read(in);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < count; i++) {
+            assertTrue(read.mightContain(hash(i)), "hash " + i);
+            if (read.mightContain(hash(count + i))) {
+                falsePositives++;
+            }
+        }
+        // About 1% is expected at 10 bits per hash
+        assertTrue(falsePositives < count * 3 / 100, falsePositives + " false positives");
+    }
+
+    private TransactionArchive archive() {
+        TransactionArchive archive = new TransactionArchive();
+        ReflectionTestUtils.setField(archive, "directory", directory.toString());
+        ReflectionTestUtils.setField(archive, "blockRecords", BLOCK_RECORDS);
+        return archive;
+    }
+
+    private static Transaction transaction(long id, long noteId, String txHash, String walletAddress) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        Note note = new Note();
+        note.setId(noteId);
+        transaction.setNote(note);
+        transaction.setTxHash(txHash);
+        transaction.setStatus(TransactionStatus.CONFIRMED);
+        transaction.setWalletAddress(walletAddress);
+        transaction.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id));
+        transaction.setRetryCount(0);
+        return transaction;
+    }
+
+    // Random-looking hex hashes that still sort by number, so an odd number's hash falls between two even ones
+    private static String hash(int number) {
+        byte[] bytes = new byte[32];
+        new Random(number).nextBytes(bytes);
+        bytes[0] = (byte) (number >>> 8);
+        bytes[1] = (byte) number;
+        return HexFormat.of().formatHex(bytes);
+    }
+}
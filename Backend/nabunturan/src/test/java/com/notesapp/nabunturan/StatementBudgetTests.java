@@ -0,0 +1,402 @@
+package com.notesapp.nabunturan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notesapp.nabunturan.Service.NoteSuggestionService;
+import com.notesapp.nabunturan.Service.NotesService;
+import com.notesapp.nabunturan.Service.PendingTransactionGauge;
+import com.notesapp.nabunturan.Service.ResponseCacheService;
+import com.notesapp.nabunturan.Service.TransactionService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pins the number of SQL statements each endpoint sends, so an extra round trip fails the build.
+ * Every request runs against a fresh wallet holding one note with one transaction, with the
+ * second-level and response caches emptied first unless the test is about a warm cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.class)
+class StatementBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Autowired
+    private NoteSuggestionService noteSuggestionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private NotesService notesService;
+
+    @Autowired
+    private PendingTransactionGauge pendingTransactionGauge;
+
+    private String walletAddress;
+    private String keyword;
+    private long noteId;
+    private String noteTxHash;
+    private long changeVersion;
+
+    @BeforeEach
+    void createWalletWithOneNote() throws Exception {
+        walletAddress = "addr_test1q" + hex() + hex();
+        keyword = "budget" + hex().substring(0, 12);
+        noteTxHash = hex() + hex();
+
+        JsonNode note = createNote(noteTxHash);
+        noteId = note.get("id").asLong();
+        changeVersion = note.get("changeVersion").asLong();
+    }
+
+    // Writes
+
+    @Test
+    void createNote() throws Exception {
+        // hash probe, version bump, claim, stats upsert, note, transaction and revision INSERTs,
+        // global version bump; the note is persisted complete, so no UPDATE follows its INSERT
+        assertStatements(8, post("/api/notes").contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("title", keyword, "txHash", hex() + hex(), "walletAddress", walletAddress))),
+            status().isCreated());
+    }
+
+    @Test
+    void resubmittedCreateNote() throws Exception {
+        // hash probe, original note, its transactions
+        assertStatements(3, post("/api/notes").contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("title", keyword, "txHash", noteTxHash, "walletAddress", walletAddress))),
+            status().isCreated());
+    }
+
+    @Test
+    void updateNote() throws Exception {
+        // hash probe, note, version bump, claim, stats upsert, transaction and revision INSERTs (the
+        // revision a splice of the edited word), note UPDATE, global version bump, transactions for the response
+        assertStatements(10, put("/api/notes/{id}", noteId).contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("title", keyword + " edited", "content", "Second draft of the note",
+                "txHash", hex() + hex(), "walletAddress", walletAddress))),
+            status().isOk());
+    }
+
+    @Test
+    void deleteNote() throws Exception {
+        // hash probe, note, version bump, claim, stats upsert, transaction and tombstone INSERTs,
+        // note UPDATE marking it deleted, global version bump
+        assertStatements(9, delete("/api/notes/{id}", noteId).contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("txHash", hex() + hex(), "walletAddress", walletAddress))),
+            status().isNoContent());
+    }
+
+    @Test
+    void purgeDeletedNote() throws Exception {
+        mockMvc.perform(delete("/api/notes/{id}", noteId).contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("txHash", hex() + hex(), "walletAddress", walletAddress))));
+
+        // the note's transactions, their DELETE, the wallet's version bump, revision and note DELETEs,
+        // then at commit the stats upsert and global version bump
+        assertCallStatements(7, () -> notesService.purgeDeletedNotes(List.of(noteId)));
+    }
+
+    @Test
+    void bulkCreateAndUpdate() throws Exception {
+        // claims and note IDs checked once; the wallet's version bump once for the chunk; the updated
+        // note; then the claims batch, the wallet's stats upsert, one INSERT batch per table, the note
+        // UPDATE and the global version bump
+        List<Map<String, Object>> operations = List.of(
+            Map.of("operation", "CREATE", "title", keyword, "txHash", hex() + hex(), "walletAddress", walletAddress),
+            Map.of("operation", "UPDATE", "noteId", noteId, "title", keyword + " edited", "txHash", hex() + hex(),
+                "walletAddress", walletAddress));
+        assertStatements(11, post("/api/notes/bulk").contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("operations", operations))),
+            status().isOk());
+    }
+
+    @Test
+    void togglePin() throws Exception {
+        // note, version bump, conditional flip UPDATE, note refresh with its transactions,
+        // global version bump
+        assertStatements(5, patch("/api/notes/{id}/toggle-pin", noteId), status().isOk());
+    }
+
+    @Test
+    void retryTransaction() throws Exception {
+        transactionService.markTransactionAsFailed(noteTxHash, "Rejected by the node");
+
+        // transaction by hash, its note, version bump, stats upsert, note and transaction UPDATEs,
+        // global version bump
+        assertStatements(7, post("/api/transactions/{txHash}/retry", noteTxHash), status().isOk());
+    }
+
+    // Note reads
+
+    @Test
+    void getNotesForWallet() throws Exception {
+        // version tag, notes, their transactions in one batch
+        assertStatements(3, get("/api/notes").param("walletAddress", walletAddress), status().isOk());
+    }
+
+    @Test
+    void getNotesForWalletFromResponseCache() throws Exception {
+        mockMvc.perform(get("/api/notes").param("walletAddress", walletAddress));
+
+        // version tag only
+        assertWarmStatements(1, get("/api/notes").param("walletAddress", walletAddress), status().isOk());
+    }
+
+    @Test
+    void getNotesForWalletNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/notes").param("walletAddress", walletAddress)).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // version tag only
+        assertStatements(1, get("/api/notes").param("walletAddress", walletAddress)
+            .header(HttpHeaders.IF_NONE_MATCH, etag), status().isNotModified());
+    }
+
+    @Test
+    void getNotesByStatus() throws Exception {
+        assertStatements(3, get("/api/notes").param("walletAddress", walletAddress).param("status", "PENDING"),
+            status().isOk());
+    }
+
+    @Test
+    void getPendingNotes() throws Exception {
+        assertStatements(3, get("/api/notes/pending").param("walletAddress", walletAddress), status().isOk());
+    }
+
+    @Test
+    void getNoteById() throws Exception {
+        // note, its transactions
+        assertStatements(2, get("/api/notes/{id}", noteId), status().isOk());
+    }
+
+    @Test
+    void getNoteStatus() throws Exception {
+        assertStatements(2, get("/api/notes/{id}/status", noteId), status().isOk());
+    }
+
+    @Test
+    void getNoteRevisions() throws Exception {
+        // note, its revisions, their transactions in one IN query
+        assertStatements(3, get("/api/notes/{id}/revisions", noteId), status().isOk());
+    }
+
+    @Test
+    void getNoteRevision() throws Exception {
+        // note, snapshot and splices up to the revision in one range query, its transaction
+        assertStatements(3, get("/api/notes/{id}/revisions/{revision}", noteId, 1), status().isOk());
+    }
+
+    @Test
+    void batchGetNotes() throws Exception {
+        // notes with their transactions fetched in the same query
+        assertStatements(1, post("/api/notes/batch-get").contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("ids", List.of(noteId, Long.MAX_VALUE)))),
+            status().isOk());
+    }
+
+    @Test
+    void searchNotes() throws Exception {
+        // matching notes, their transactions in one batch
+        assertStatements(2, get("/api/notes/search").param("keyword", keyword), status().isOk());
+    }
+
+    @Test
+    void getNoteChanges() throws Exception {
+        // wallet version, changed notes, tombstones, transactions of the changed notes
+        assertStatements(4, get("/api/notes/changes").param("walletAddress", walletAddress).param("since", "0"),
+            status().isOk());
+    }
+
+    @Test
+    void getNoteChangesWhenUpToDate() throws Exception {
+        // wallet version only
+        assertStatements(1, get("/api/notes/changes").param("walletAddress", walletAddress)
+            .param("since", String.valueOf(changeVersion)), status().isOk());
+    }
+
+    @Test
+    void suggestNotes() throws Exception {
+        noteSuggestionService.invalidate(walletAddress);
+
+        // suggestion fields of the wallet's notes
+        assertStatements(1, get("/api/notes/suggest").param("walletAddress", walletAddress).param("q", keyword),
+            status().isOk());
+    }
+
+    @Test
+    void suggestNotesFromLoadedIndex() throws Exception {
+        mockMvc.perform(get("/api/notes/suggest").param("walletAddress", walletAddress).param("q", keyword));
+
+        assertWarmStatements(0, get("/api/notes/suggest").param("walletAddress", walletAddress).param("q", keyword),
+            status().isOk());
+    }
+
+    // Transaction reads
+
+    @Test
+    void getTransactionByHash() throws Exception {
+        // transaction by natural id; its note and metadata are not loaded
+        assertStatements(1, get("/api/transactions/{txHash}", noteTxHash), status().isOk());
+    }
+
+    @Test
+    void getTransactionStatuses() throws Exception {
+        assertStatements(1, post("/api/transactions/status").contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("txHashes", List.of(noteTxHash, hex() + hex())))),
+            status().isOk());
+    }
+
+    @Test
+    void getTransactionsByNote() throws Exception {
+        // transactions, their note for the title
+        assertStatements(2, get("/api/transactions/note/{noteId}", noteId), status().isOk());
+    }
+
+    @Test
+    void getTransactionsByWallet() throws Exception {
+        // version tag, page with notes fetched
+        assertStatements(2, get("/api/transactions/wallet/{walletAddress}", walletAddress), status().isOk());
+    }
+
+    @Test
+    void getTransactionsByWalletWithTotal() throws Exception {
+        assertStatements(3, get("/api/transactions/wallet/{walletAddress}", walletAddress)
+            .param("includeTotal", "true"), status().isOk());
+    }
+
+    @Test
+    void countPendingTransactionsForWallet() throws Exception {
+        assertStatements(1, get("/api/transactions/pending/count").param("walletAddress", walletAddress),
+            status().isOk());
+    }
+
+    @Test
+    void countPendingTransactionsGlobally() throws Exception {
+        // answered from the in-memory gauge, once it has been counted
+        pendingTransactionGauge.refresh();
+        assertStatements(0, get("/api/transactions/pending/count"), status().isOk());
+    }
+
+    @Test
+    void getTransactionStatsForWallet() throws Exception {
+        // wallet counters row
+        assertStatements(1, get("/api/transactions/stats").param("walletAddress", walletAddress), status().isOk());
+    }
+
+    @Test
+    void getTransactionStatsGlobally() throws Exception {
+        assertStatements(1, get("/api/transactions/stats"), status().isOk());
+    }
+
+    // Wallets
+
+    @Test
+    void getWalletDashboard() throws Exception {
+        // version tag, wallet version, notes, their transactions, status breakdown, recent transactions
+        assertStatements(6, get("/api/wallets/{address}/dashboard", walletAddress), status().isOk());
+    }
+
+    private JsonNode createNote(String txHash) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/notes").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("title", keyword + " note", "content", "First draft of the note",
+                    "txHash", txHash, "walletAddress", walletAddress))))
+            .andExpect(status().isCreated())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    /**
+     * Assert the statements a request sends with the second-level and response caches emptied
+     */
+    private void assertStatements(int expected, RequestBuilder request, ResultMatcher status) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        responseCacheService.invalidateWallet(walletAddress);
+        assertWarmStatements(expected, request, status);
+    }
+
+    /**
+     * Assert the statements a service call sends with the second-level cache emptied, for work
+     * that runs in a worker rather than behind an endpoint
+     */
+    private void assertCallStatements(int expected, Runnable call) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        statementCounter.start();
+        try {
+            call.run();
+        } finally {
+            List<String> statements = statementCounter.stop();
+            assertEquals(expected, statements.size(), () -> "Statement budget exceeded or changed:\n  "
+                + String.join("\n  ", statements) + "\n" + statistics);
+        }
+    }
+
+    /**
+     * Assert the statements a request sends with whatever the caches hold
+     */
+    private void assertWarmStatements(int expected, RequestBuilder request, ResultMatcher status) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        statementCounter.start();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        List<String> statements = statementCounter.stop();
+
+        status.match(result);
+        assertEquals(expected, statements.size(), () -> "Statement budget exceeded or changed:\n  "
+            + String.join("\n  ", statements) + "\n" + statistics);
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private static String hex() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -0,0 +1,106 @@
+package com.notesapp.nabunturan;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps the DataSource to record the SQL statements executed by the thread being measured, including
+ * the JdbcTemplate statements (wallet directory, transaction hash registry) that Hibernate
+ * statistics never see. Statements on the pooled id tables are skipped: they run once per
+ * allocation block, not once per request.
+ */
+public class StatementCounter implements BeanPostProcessor {
+
+    private static final Pattern ID_TABLE = Pattern.compile("\\b\\w+_seq\\b");
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private volatile Thread measuredThread;
+
+    /**
+     * Start recording the statements of the current thread
+     */
+    public void start() {
+        statements.clear();
+        measuredThread = Thread.currentThread();
+    }
+
+    /**
+     * Stop recording
+     * @return Statements recorded since start(), in execution order
+     */
+    public List<String> stop() {
+        measuredThread = null;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(DataSource.class, dataSource);
+        }
+        return bean;
+    }
+
+    private Object wrap(Class<?> type, Object target) {
+        return wrap(type, target, null);
+    }
+
+    /**
+     * Proxy a JDBC object, recording a statement each time one is executed. A prepared statement
+     * executed once per batch counts once; prepared but never executed, it does not count.
+     * @param preparedSql SQL the wrapped statement was prepared with, or null
+     */
+    private Object wrap(Class<?> type, Object target, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+            (proxy, method, args) -> {
+                if (method.getName().equals("equals")) {
+                    return proxy == args[0];
+                }
+                if (method.getName().equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    // Plain statements carry their SQL on execute; batched ones have none to name
+                    record(args != null && args.length > 0 && args[0] instanceof String sql ? sql
+                        : preparedSql != null ? preparedSql : method.getName());
+                }
+                Object result = invoke(method, target, args);
+                if (result instanceof Connection connection) {
+                    return wrap(Connection.class, connection);
+                }
+                if (result instanceof Statement statement && target instanceof Connection) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    Class<?> statementType = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                    return wrap(statementType, statement, sql);
+                }
+                return result;
+            });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void record(String sql) {
+        if (Thread.currentThread() == measuredThread && !ID_TABLE.matcher(sql).find()) {
+            statements.add(sql);
+        }
+    }
+}
@@ -19,6 +19,8 @@ function History() {
   // Initialize status polling hook
   const { 
     isPolling, 
+    isStreaming,
+    lastEventAt,
     pendingCount, 
     notifications, 
     dismissNotification 
@@ -156,8 +158,19 @@ function History() {
     fetchTransactionHistory();
   }, [walletAddress]);
   
-  // Poll for updates when there are pending transactions in history
+  // Refetch history whenever the server pushes a status change
   useEffect(() => {
+    if (lastEventAt && walletAddress) {
+      fetchTransactionHistory();
+    }
+  }, [lastEventAt]);
+  
+  // Poll for updates when there are pending transactions in history and no event stream is open
+  useEffect(() => {
+    if (isStreaming) {
+      return;
+    }
+    
     const pendingTransactions = transactionHistory.filter(tx => 
       (tx.status || '').toLowerCase() === 'pending'
     );
@@ -178,7 +191,7 @@ function History() {
     } else {
       console.log('✅ History: No pending transactions - polling not needed');
     }
-  }, [transactionHistory]);
+  }, [transactionHistory, isStreaming]);
   
   // Filter transactions
   const filteredTransactions = useMemo(() => {
@@ -127,9 +127,9 @@ function Home() {
       
       try {
         const apiUrl = 'http://localhost:8080/api';
-        const response = await axios.get(`${apiUrl}/transactions/wallet/${walletAddress}`);
-        const transactions = response.data.content || response.data || [];
-        setTransactionCount(transactions.length);
+        // The dashboard carries the wallet's totals, so no transaction page has to be fetched
+        const response = await axios.get(`${apiUrl}/wallets/${walletAddress}/dashboard`);
+        setTransactionCount(response.data?.totalTransactions || 0);
       } catch (err) {
         console.error("Failed to fetch transaction count:", err);
         setTransactionCount(0);
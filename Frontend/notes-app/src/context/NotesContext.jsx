@@ -777,6 +777,25 @@ export const NotesProvider = ({ children }) => {
     }
   };
 
+  // Get several notes with their transaction status in one request, merging them into local state.
+  // Returns a map of note ID to note (unknown IDs omitted), or null if the request failed.
+  const getTransactionStatuses = useCallback(async (noteIds) => {
+    if (!noteIds || noteIds.length === 0) return {};
+    try {
+      const res = await axios.post(`${API_URL}/batch-get`, { ids: noteIds });
+      const statuses = res.data || {};
+
+      if (Object.keys(statuses).length > 0) {
+        setNotes(prev => prev.map(n => statuses[n.id] ? { ...n, ...statuses[n.id] } : n));
+      }
+
+      return statuses;
+    } catch (error) {
+      console.error('Failed to get transaction statuses:', error);
+      return null;
+    }
+  }, []); // Empty deps - only uses setNotes which is stable
+
   // Get transaction history
   const getTransactionHistory = async () => {
     try {
@@ -828,6 +847,7 @@ export const NotesProvider = ({ children }) => {
     getNotesByStatus,
     getPendingNotes,
     getTransactionStatus,
+    getTransactionStatuses,
     getTransactionHistory,
     retryFailedTransaction,
   }), [notes, history, loading, error, isProcessing, currentStep, currentTxHash, walletApi, walletAddress]);
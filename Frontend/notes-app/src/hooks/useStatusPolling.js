@@ -1,25 +1,35 @@
 import { useState, useEffect, useRef, useCallback } from 'react';
 import { useNotes } from '../context/NotesContext';
+import { useWallet } from '../context/WalletContext';
 
+const EVENTS_URL = `${import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api/notes'}/events`;
 
 export const useStatusPolling = (interval = 10000) => {
   const [isPolling, setIsPolling] = useState(false);
   const [lastChecked, setLastChecked] = useState(null);
   const [pendingCount, setPendingCount] = useState(0);
   const [notifications, setNotifications] = useState([]);
+  const [isStreaming, setIsStreaming] = useState(false);
+  const [lastEventAt, setLastEventAt] = useState(null);
   
-  const { refreshNotes, notes } = useNotes();
+  const { refreshNotes, getTransactionStatuses, notes } = useNotes();
+  const { walletAddress } = useWallet();
+  const isStreamingRef = useRef(false);
   const pollingInterval = useRef(null);
   const notificationTimeout = useRef([]);
   const previousPendingIds = useRef(new Set());
   const isCheckingRef = useRef(false);
   const stopPollingRef = useRef(null);
   
-  // Use ref to always have latest refreshNotes without breaking useCallback dependencies
+  // Use refs to always have the latest functions and notes without breaking useCallback dependencies
   const refreshNotesRef = useRef(refreshNotes);
+  const getTransactionStatusesRef = useRef(getTransactionStatuses);
+  const notesRef = useRef(notes);
   useEffect(() => {
     refreshNotesRef.current = refreshNotes;
-  }, [refreshNotes]);
+    getTransactionStatusesRef.current = getTransactionStatuses;
+    notesRef.current = notes;
+  }, [refreshNotes, getTransactionStatuses, notes]);
 
 
   const addNotification = useCallback((notification) => {
@@ -75,9 +85,10 @@ export const useStatusPolling = (interval = 10000) => {
   }, [stopPolling]);
 
   /**
-   * Check status of pending transactions
+   * Check status of pending transactions, fetching only the pending notes (plus any extra IDs,
+   * such as the note named by a status event) in one batch request
    */
-  const checkPendingTransactions = useCallback(async () => {
+  const checkPendingTransactions = useCallback(async (extraIds = []) => {
     // Prevent concurrent checks
     if (isCheckingRef.current) {
       console.log('⏭️ Skipping check - already in progress');
@@ -88,23 +99,27 @@ export const useStatusPolling = (interval = 10000) => {
     
     try {
       console.log('🔄 Polling: Checking pending transactions...', new Date().toLocaleTimeString());
-      console.log('⏰ Polling interval: Every 10 seconds');
-      
-      // Get fresh data from backend - use ref to get latest function
-      const freshNotes = await refreshNotesRef.current();
-      console.log('📊 Polling: Fresh notes fetched:', freshNotes?.length || 0);
-      
-      if (!freshNotes || freshNotes.length === 0) {
+
+      const idsToCheck = new Set([
+        ...previousPendingIds.current,
+        ...notesRef.current.filter(note => note.status === 'PENDING' && note.txHash).map(note => note.id),
+        ...extraIds,
+      ]);
+      if (idsToCheck.size === 0) {
         setPendingCount(0);
-        if (previousPendingIds.current.size > 0) {
-          previousPendingIds.current.clear();
-        }
         stopPollingRef.current?.();
         return;
       }
+
+      const statuses = await getTransactionStatusesRef.current([...idsToCheck]);
+      if (!statuses) {
+        // Request failed; keep the current pending set and try again on the next tick
+        return;
+      }
+      const checkedNotes = Object.values(statuses);
+      console.log('📊 Polling: Notes checked:', checkedNotes.length);
       
-      // Filter pending notes directly from fresh data (no extra API call)
-      const currentPendingNotes = freshNotes.filter(note => 
+      const currentPendingNotes = checkedNotes.filter(note => 
         note.status === 'PENDING' && note.txHash
       );
       
@@ -119,26 +134,22 @@ export const useStatusPolling = (interval = 10000) => {
         id => !currentPendingIds.has(id)
       );
       
-      console.log('🔍 Polling: Previously pending IDs:', [...previousPendingIds.current]);
-      console.log('🔍 Polling: Currently pending IDs:', [...currentPendingIds]);
       console.log('✅ Polling: Newly confirmed IDs:', newlyConfirmedIds);
       
       // Show notifications for newly confirmed notes
-      if (newlyConfirmedIds.length > 0) {
-        newlyConfirmedIds.forEach(id => {
-          const confirmedNote = freshNotes.find(n => n.id === id && n.status === 'CONFIRMED');
-          if (confirmedNote) {
-            console.log(`✅ Note "${confirmedNote.title}" confirmed!`);
-            addNotification({
-              id: confirmedNote.id,
-              title: confirmedNote.title,
-              type: 'success',
-              message: `Note "${confirmedNote.title}" confirmed on blockchain!`,
-              txHash: confirmedNote.txHash
-            });
-          }
-        });
-      }
+      newlyConfirmedIds.forEach(id => {
+        const confirmedNote = statuses[id];
+        if (confirmedNote && confirmedNote.status === 'CONFIRMED') {
+          console.log(`✅ Note "${confirmedNote.title}" confirmed!`);
+          addNotification({
+            id: confirmedNote.id,
+            title: confirmedNote.title,
+            type: 'success',
+            message: `Note "${confirmedNote.title}" confirmed on blockchain!`,
+            txHash: confirmedNote.txHash
+          });
+        }
+      });
       
       // Update tracking set
       previousPendingIds.current = currentPendingIds;
@@ -147,9 +158,7 @@ export const useStatusPolling = (interval = 10000) => {
       if (currentPendingNotes.length === 0) {
         console.log('✅ All transactions confirmed - stopping polling');
         stopPollingRef.current?.();
-        return;
       }
-      previousPendingIds.current = currentPendingIds;
       
     } catch (error) {
       console.error('❌ Error checking pending transactions:', error);
@@ -173,8 +182,9 @@ export const useStatusPolling = (interval = 10000) => {
     // Initial check immediately
     checkPendingTransactions();
     
-    // Then check at intervals
+    // Then check at intervals, but only while the event stream is unavailable
     pollingInterval.current = setInterval(() => {
+      if (isStreamingRef.current) return;
       checkPendingTransactions();
     }, interval);
   }, [isPolling, interval, checkPendingTransactions]);
@@ -203,6 +213,52 @@ export const useStatusPolling = (interval = 10000) => {
     }
   }, [notes, isPolling, startPolling]);
 
+  /**
+   * Subscribe to server-sent status events so refetches happen only when something changed.
+   * EventSource reconnects on its own and resumes from Last-Event-ID.
+   */
+  useEffect(() => {
+    if (!walletAddress || typeof window === 'undefined' || !window.EventSource) {
+      return undefined;
+    }
+
+    const source = new EventSource(`${EVENTS_URL}?walletAddress=${encodeURIComponent(walletAddress)}`);
+    const handleStatus = (event) => {
+      setLastEventAt(new Date());
+      let noteId = null;
+      try {
+        noteId = JSON.parse(event.data).noteId;
+      } catch {
+        // Check the pending notes alone
+      }
+      checkPendingTransactions(noteId != null ? [noteId] : []);
+    };
+    const handleResync = async () => {
+      // Events were missed; refetch everything before checking what is still pending
+      setLastEventAt(new Date());
+      await refreshNotesRef.current();
+      checkPendingTransactions();
+    };
+
+    source.onopen = () => {
+      isStreamingRef.current = true;
+      setIsStreaming(true);
+    };
+    source.onerror = () => {
+      // Fall back to interval polling until the stream reconnects
+      isStreamingRef.current = false;
+      setIsStreaming(false);
+    };
+    source.addEventListener('status', handleStatus);
+    source.addEventListener('resync', handleResync);
+
+    return () => {
+      source.close();
+      isStreamingRef.current = false;
+      setIsStreaming(false);
+    };
+  }, [walletAddress, checkPendingTransactions]);
+
   /**
    * Cleanup on unmount
    */
@@ -220,6 +276,8 @@ export const useStatusPolling = (interval = 10000) => {
   return {
     // State
     isPolling,
+    isStreaming,
+    lastEventAt,
     lastChecked,
     pendingCount,
     notifications,